@@ -0,0 +1,28 @@
+package com.airline;
+
+// Import list helpers used to build the JMH command line
+import java.util.ArrayList;
+import java.util.List;
+
+/* =========================================================
+                     BENCHMARK LAUNCHER
+   Runs JMH like `java -jar benchmarks.jar` normally would, but
+   always writes a machine-readable JSON result file as well
+   (jmh-result.json unless -rf / -rff are given), so CI can
+   keep track of the numbers between builds.
+   ========================================================= */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(List.of(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.add("-rf");
+            jmhArgs.add("json");
+        }
+        if (!jmhArgs.contains("-rff")) {
+            jmhArgs.add("-rff");
+            jmhArgs.add("jmh-result.json");
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
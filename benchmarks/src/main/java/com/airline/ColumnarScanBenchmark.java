@@ -0,0 +1,89 @@
+package com.airline;
+
+// Import JMH annotations
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                   COLUMNAR SCAN BENCHMARK
+   Two fleet-wide questions answered by walking the Flight
+   objects versus scanning the FlightTable columns:
+   - how many international flights leave after 18:00
+   - load factor per route
+   ========================================================= */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ColumnarScanBenchmark {
+
+    static final int CITIES = 60;
+    static final int SEATS = 60;
+
+    @Param({"100000", "1000000"})
+    int flights;
+
+    BookingService service;
+
+    @Setup(Level.Trial)
+    public void load() {
+        Random random = new Random(42);
+        service = new BookingService(new SnowflakeIdGenerator(1));
+        for (int i = 0; i < flights; i++) {
+            int from = random.nextInt(CITIES);
+            int to = (from + 1 + random.nextInt(CITIES - 1)) % CITIES;
+            Flight f = new Flight("CS" + i, "City" + from, "City" + to, 1 + random.nextInt(2),
+                    random.nextInt(24) * 100 + random.nextInt(60), 120, SEATS, 3000 + random.nextInt(5000));
+            service.addFlight(f);
+            int sold = random.nextInt(SEATS + 1);
+            if (sold > 0) f.assignSeats(new int[sold], false);
+        }
+    }
+
+    @Benchmark
+    public long objectsCountLateInternational() {
+        long count = 0;
+        for (Flight f : service.flights()) {
+            if (f.type == 2 && f.time >= 1800) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long columnsCountLateInternational() {
+        return service.table.countDepartures(2, 1800, 2359);
+    }
+
+    @Benchmark
+    public Map<String, long[]> objectsLoadByRoute() {
+        Map<String, long[]> byRoute = new HashMap<>();
+        for (Flight f : service.flights()) {
+            long[] sums = byRoute.computeIfAbsent(f.source + " -> " + f.destination, k -> new long[2]);
+            sums[0] += f.totalSeats;
+            sums[1] += f.totalSeats - f.availableSeats;
+        }
+        return byRoute;
+    }
+
+    @Benchmark
+    public List<FlightTable.RouteLoad> columnsLoadByRoute() {
+        return service.table.loadByRoute();
+    }
+}
@@ -0,0 +1,85 @@
+package com.airline;
+
+// Import JMH annotations and file helpers for the journal
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                 CONTENDED BOOKING BENCHMARK
+   Many threads booking and cancelling at once. With one flight
+   every thread fights for the same lock; with thousands they
+   almost never meet. The journal can be off, on without fsync,
+   or on with group-committed fsync. Change the thread count
+   with -t.
+   ========================================================= */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ContendedBookingBenchmark {
+
+    static final int SEATS = 1000;
+
+    @Param({"1", "64", "4096"})
+    int flights;
+
+    @Param({"off", "nofsync", "fsync"})
+    String journalMode;
+
+    BookingService service;
+    BookingJournal journal;
+    Path journalFile;
+    String[] flightNos;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        if (!journalMode.equals("off")) {
+            journalFile = Files.createTempFile("bench", ".journal");
+            Files.delete(journalFile);  // The journal writes its own header into a new file
+            journal = new BookingJournal(journalFile, journalMode.equals("fsync"));
+        }
+        service = new BookingService(new SnowflakeIdGenerator(1), journal);
+        flightNos = new String[flights];
+        for (int i = 0; i < flights; i++) {
+            flightNos[i] = "BM" + i;
+            service.addFlight(new Flight(flightNos[i], "Delhi", "Mumbai", 1, 930, 130, SEATS, 4500));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    // Book a seat and give it back, so flights never sell out
+    @Benchmark
+    public long bookAndCancel() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Passenger p = service.book(flightNos[random.nextInt(flights)], "Agent", 30, random.nextInt(4));
+        service.cancel(p.bookingId);
+        return p.bookingId;
+    }
+}
@@ -0,0 +1,105 @@
+package com.airline;
+
+// Import JMH annotations and file helpers for the journal
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                   GROUP BOOKING BENCHMARK
+   Passengers booked per second for a group of GROUP people:
+   one book() call each versus one bookGroup() call for all.
+   A flight that fills up is replaced by a fresh one.
+   (`together` only changes wholeGroup.)
+   ========================================================= */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class GroupBookingBenchmark {
+
+    static final int GROUP = 100;
+    static final int SEATS = 30_000;
+
+    @Param({"off", "nofsync", "fsync"})
+    String journalMode;
+
+    @Param({"false", "true"})
+    boolean together;
+
+    BookingService service;
+    BookingJournal journal;
+    Path journalFile;
+    List<BookingRequest> group = new ArrayList<>();
+    Flight flight;
+    int flightCount;
+
+    @Setup(Level.Iteration)
+    public void load() throws IOException {
+        if (!journalMode.equals("off")) {
+            journalFile = Files.createTempFile("bench", ".journal");
+            Files.delete(journalFile);  // The journal writes its own header into a new file
+            journal = new BookingJournal(journalFile, journalMode.equals("fsync"));
+        }
+        service = new BookingService(new SnowflakeIdGenerator(1), journal);
+        group.clear();
+        for (int i = 0; i < GROUP; i++) {
+            group.add(new BookingRequest(null, "Tourist" + i, 25 + i % 50, i % 4, Passenger.CASH));
+        }
+        flight = null;
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    // Flight with room for another group
+    String flightWithRoom() {
+        if (flight == null || flight.availableSeats < GROUP) {
+            flight = new Flight("GB" + flightCount++, "Delhi", "Goa", 1, 930, 150, SEATS, 5200);
+            service.addFlight(flight);
+        }
+        return flight.flightNo;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GROUP)
+    public int oneAtATime() {
+        String flightNo = flightWithRoom();
+        int booked = 0;
+        for (BookingRequest r : group) {
+            if (service.book(flightNo, r.name, r.age, r.pref, r.payMethod) != null) booked++;
+        }
+        return booked;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GROUP)
+    public int wholeGroup() {
+        List<Passenger> booked = service.bookGroup(flightWithRoom(), group, together);
+        return booked == null ? 0 : booked.size();
+    }
+}
@@ -0,0 +1,189 @@
+package com.airline;
+
+// Import the JDK HTTP client and concurrency helpers
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/* =========================================================
+                      HTTP LOAD TEST
+   Keeps C requests in flight against the API server, each on
+   its own connection, for a number of seconds, and prints
+   throughput, errors and latency percentiles.
+
+   Mix: 70% view flight, 20% route search, 10% book + cancel.
+
+     java -cp benchmarks/target/benchmarks.jar com.airline.HttpLoadTest \
+          [--url http://localhost:8080] [--connections 10000] [--seconds 20] [--flights 100]
+
+   Without --url an in-process server is started on a free port.
+   Either way the `flights` test flights (LT0, LT1, ...) are
+   added first through the admin API. Each connection needs a file
+   descriptor (two when the server runs in the same process), so
+   raise `ulimit -n` for big runs.
+   ========================================================= */
+public class HttpLoadTest {
+
+    static final String[] CITIES = {"Delhi", "Mumbai", "Dubai", "London", "Surat", "Goa", "Pune", "Chennai"};
+    static final int BUCKETS = 600_000;      // Latency histogram: 100 µs steps up to 60 s
+
+    HttpClient client;
+    String url;
+    int flights;
+    volatile boolean running = true;
+
+    LongAdder ok = new LongAdder();
+    LongAdder failed = new LongAdder();
+    AtomicLongArray latency = new AtomicLongArray(BUCKETS);
+    Map<String, LongAdder> errors = new ConcurrentHashMap<>();  // Failure kind -> count
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int connections = 10_000;
+        int seconds = 20;
+        int flights = 100;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url": url = args[i + 1]; break;
+                case "--connections": connections = Integer.parseInt(args[i + 1]); break;
+                case "--seconds": seconds = Integer.parseInt(args[i + 1]); break;
+                case "--flights": flights = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        ApiServer server = null;
+        if (url == null) {
+            server = new ApiServer(new BookingService(new SnowflakeIdGenerator(1)), 0);
+            server.start();
+            url = "http://localhost:" + server.port();
+            System.out.println("Started in-process server at " + url
+                    + (ApiServer.virtualThreads() ? " (virtual threads)" : " (thread pool)"));
+        }
+
+        HttpLoadTest test = new HttpLoadTest();
+        test.url = url;
+        test.flights = flights;
+        test.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        test.addFlights();
+        test.run(connections, seconds);
+
+        if (server != null) server.stop(0);
+        System.exit(0);   // The HTTP client's threads would keep the JVM alive
+    }
+
+    // Flights "LT0".."LTn" between the sample cities, with plenty of seats
+    // (409 = already added by an earlier run, which is fine)
+    void addFlights() throws Exception {
+        for (int i = 0; i < flights; i++) {
+            String from = CITIES[i % CITIES.length];
+            String to = CITIES[(i + 1 + i / CITIES.length % (CITIES.length - 1)) % CITIES.length];
+            String body = "{\"flightNo\":\"LT" + i + "\",\"source\":\"" + from + "\",\"destination\":\"" + to
+                    + "\",\"type\":1,\"time\":" + (i * 37) % 24 * 100 + ",\"duration\":90,\"seats\":100000,\"fare\":4000}";
+            HttpResponse<String> r = client.send(HttpRequest.newBuilder(URI.create(url + "/flights"))
+                    .header("Authorization", ApiServer.ADMIN_AUTH)
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            if (r.statusCode() != 201 && r.statusCode() != 409) {
+                throw new IllegalStateException("Adding flight LT" + i + " failed: " + r.body());
+            }
+        }
+    }
+
+    /* -------- RUN THE LOAD -------- */
+    void run(int connections, int seconds) throws InterruptedException {
+        System.out.println("Running " + connections + " concurrent requests for " + seconds + " s against " + url);
+        for (int i = 0; i < connections; i++) next();
+
+        long start = System.nanoTime();
+        long lastOk = 0;
+        for (int s = 1; s <= seconds; s++) {
+            Thread.sleep(1000);
+            long now = ok.sum();
+            System.out.println("  " + s + " s: " + (now - lastOk) + " req/s, errors so far " + failed.sum());
+            lastOk = now;
+        }
+        running = false;
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Requests: %d ok, %d failed, %.0f req/s%n", ok.sum(), failed.sum(), ok.sum() / elapsed);
+        System.out.printf("Latency ms: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                percentile(0.50), percentile(0.90), percentile(0.99), percentile(0.999), percentile(1.0));
+        errors.forEach((kind, n) -> System.out.println("  " + n.sum() + " x " + kind));
+    }
+
+    // Sends one request and, when it finishes, the next one on the same slot
+    void next() {
+        if (!running) return;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        String flightNo = "LT" + random.nextInt(flights);
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> call;
+        if (pick < 70) {
+            call = send(get("/flights/" + flightNo));
+        } else if (pick < 90) {
+            call = send(get("/search?from=" + CITIES[random.nextInt(CITIES.length)]
+                    + "&to=" + CITIES[random.nextInt(CITIES.length)] + "&after=" + random.nextInt(24) * 100));
+        } else {
+            String body = "{\"flightNo\":\"" + flightNo + "\",\"name\":\"Load Test\",\"age\":"
+                    + (18 + random.nextInt(70)) + ",\"seatPref\":" + random.nextInt(4) + "}";
+            call = send(HttpRequest.newBuilder(URI.create(url + "/bookings"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build())
+                    .thenCompose(r -> {
+                        if (r.statusCode() != 201) return CompletableFuture.completedFuture(r);
+                        String id = r.body().substring(r.body().indexOf("BK"), r.body().indexOf("BK") + 14);
+                        return send(HttpRequest.newBuilder(URI.create(url + "/bookings/" + id)).DELETE().build());
+                    });
+        }
+
+        call.whenComplete((r, e) -> {
+            if (e == null && r.statusCode() < 400) {
+                ok.increment();
+                record(System.nanoTime() - start);
+            } else {
+                failed.increment();
+                String kind = e != null ? String.valueOf(e.getCause() != null ? e.getCause() : e) : "HTTP " + r.statusCode();
+                errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+            }
+            next();
+        });
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(url + path)).GET().build();
+    }
+
+    CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /* -------- LATENCY HISTOGRAM -------- */
+    void record(long nanos) {
+        latency.incrementAndGet((int) Math.min(nanos / 100_000, BUCKETS - 1));
+    }
+
+    // Latency in ms below which `fraction` of the requests finished
+    double percentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += latency.get(i);
+        long wanted = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latency.get(i);
+            if (seen >= wanted && seen > 0) return (i + 1) / 10.0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.airline;
+
+// Import JMH annotations and output streams
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                      LISTING BENCHMARK
+   Printing every flight to an unbuffered console stream
+   (here /dev/null):
+   - printlnPerLine: the old displayFlight, one println and
+     String.format per line
+   - cachedListing : cached card + live fields, one write per 64 KB
+   - rawBytes      : writing the finished listing bytes only,
+                     i.e. the I/O floor
+   ========================================================= */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingBenchmark {
+
+    @Param({"10000"})
+    int flights;
+
+    BookingService service;
+    PrintStream console;
+    byte[] listing;
+
+    @Setup(Level.Trial)
+    public void load() throws FileNotFoundException {
+        service = new BookingService(new SnowflakeIdGenerator(1));
+        Random random = new Random(42);
+        for (int i = 0; i < flights; i++) {
+            service.addFlight(new Flight("BM" + i, "City" + random.nextInt(200), "City" + random.nextInt(200),
+                    1 + random.nextInt(2), random.nextInt(24) * 100 + random.nextInt(60),
+                    60 + random.nextInt(540), 180, 1000 + random.nextInt(9000)));
+        }
+        // Like System.out: a PrintStream straight on a file descriptor
+        console = new PrintStream(new FileOutputStream("/dev/null"), true, ListingWriter.CHARSET);
+
+        java.io.ByteArrayOutputStream all = new java.io.ByteArrayOutputStream();
+        ListingWriter out = new ListingWriter(new PrintStream(all, false, ListingWriter.CHARSET));
+        for (Flight f : service.flights()) f.render(out);
+        out.flush();
+        listing = all.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        console.close();
+    }
+
+    @Benchmark
+    public void printlnPerLine() {
+        for (Flight f : service.flights()) {
+            console.println("--------------------------------");
+            console.println("Flight No : " + f.flightNo);
+            console.println("Route    : " + f.source + " -> " + f.destination);
+            console.println("Type     : " + (f.type == 1 ? "Domestic" : "International"));
+            console.println("Time     : " + oldFormatTime(f.time));
+            console.println("Duration : " + f.duration / 60 + "h " + f.duration % 60 + "m");
+            console.println("Fare     : ₹" + f.currentFare(FareQuote.REGULAR));
+            console.println("Seats    : " + f.availableSeats + "/" + f.totalSeats);
+        }
+    }
+
+    @Benchmark
+    public void cachedListing() {
+        ListingWriter out = new ListingWriter(console);
+        for (Flight f : service.flights()) f.render(out);
+        out.flush();
+    }
+
+    @Benchmark
+    public void rawBytes() {
+        for (int at = 0; at < listing.length; at += ListingWriter.FLUSH_AT) {
+            console.write(listing, at, Math.min(ListingWriter.FLUSH_AT, listing.length - at));
+        }
+        console.flush();
+    }
+
+    // Flight.formatTime as it was, with String.format
+    static String oldFormatTime(int time) {
+        int hour = time / 100;
+        int min = time % 100;
+        String period = (hour >= 12) ? "PM" : "AM";
+        if (hour > 12) hour -= 12;
+        if (hour == 0) hour = 12;
+        return String.format("%02d:%02d %s", hour, min, period);
+    }
+}
@@ -0,0 +1,93 @@
+package com.airline;
+
+// Import JMH annotations and time unit
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                      LOOKUP BENCHMARK
+   Finding a booking by ID and a flight by number, with the
+   repository holding 10^2 to 10^7 bookings (one flight per
+   200 bookings). The 10^7 case needs a large heap; leave it
+   out with -p records=100,10000,1000000 on small machines.
+   ========================================================= */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class LookupBenchmark {
+
+    static final int SEATS_PER_FLIGHT = 200;
+    static final int SAMPLES = 4096;    // Keys looked up in turn (power of two)
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    int records;
+
+    BookingService service;
+    long[] bookingIds = new long[SAMPLES];
+    String[] bookingTexts = new String[SAMPLES];
+    String[] flightNos = new String[SAMPLES];
+    int next;
+
+    @Setup(Level.Trial)
+    public void load() {
+        service = new BookingService(new SnowflakeIdGenerator(1));
+        SnowflakeIdGenerator ids = new SnowflakeIdGenerator(1);
+        Random random = new Random(42);
+
+        int flights = Math.max(1, records / SEATS_PER_FLIGHT);
+        Flight[] all = new Flight[flights];
+        for (int i = 0; i < flights; i++) {
+            all[i] = new Flight("BM" + i, "Delhi", "Mumbai", 1, 600 + i % 1200, 130, SEATS_PER_FLIGHT, 4500);
+            service.addFlight(all[i]);
+        }
+
+        // Fill the repository directly; going through book() would only slow setup down
+        service.repo.presize(flights, records);
+        long[] allIds = new long[records];
+        for (int n = 0; n < records; n++) {
+            Flight f = all[n / SEATS_PER_FLIGHT % flights];
+            int seatNo = n % SEATS_PER_FLIGHT + 1;
+            f.takeSeat(seatNo);
+            allIds[n] = ids.nextId();
+            service.repo.addPassenger(new Passenger(allIds[n], "P" + n, 30, f.id, seatNo, 4500, Passenger.CASH));
+        }
+
+        for (int i = 0; i < SAMPLES; i++) {
+            bookingIds[i] = allIds[random.nextInt(records)];
+            bookingTexts[i] = BookingIds.format(bookingIds[i]);
+            // Users type flight numbers in any case
+            flightNos[i] = all[random.nextInt(flights)].flightNo.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Benchmark
+    public Passenger findBookingById() {
+        return service.findBooking(bookingIds[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public Passenger findBookingByText() {
+        return service.findBooking(bookingTexts[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public Flight findFlightByNumber() {
+        return service.findFlight(flightNos[next++ & (SAMPLES - 1)]);
+    }
+}
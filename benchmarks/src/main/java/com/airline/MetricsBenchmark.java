@@ -0,0 +1,46 @@
+package com.airline;
+
+// Import JMH annotations
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                      METRICS BENCHMARK
+   Cost of recording one timing (two nanoTime calls plus the
+   histogram update) and of bumping one counter. Run with -t 4
+   to see the cost under contention.
+   ========================================================= */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    BookingMetrics metrics = new BookingMetrics();
+
+    @Benchmark
+    public void timeAndRecord() {
+        long start = System.nanoTime();
+        metrics.lookup.recordSince(start);
+    }
+
+    @Benchmark
+    public void recordOnly() {
+        metrics.book.record(1234);
+    }
+
+    @Benchmark
+    public void countAllocation() {
+        metrics.seatAssigned(1, 2);
+    }
+}
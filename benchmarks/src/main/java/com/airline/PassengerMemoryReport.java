@@ -0,0 +1,100 @@
+package com.airline;
+
+// Import the JVM's memory bean used to read the live heap size
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/* =========================================================
+                  PASSENGER MEMORY REPORT
+   Heap used per booking, measured two ways:
+
+     records   Passenger objects alone (with their seat and
+               name), kept in a plain array
+     service   bookings made through BookingService, so the
+               booking and manifest indexes are counted too
+
+   Names are built fresh for every booking, as they would be
+   when read from the console, a CSV file or an HTTP request;
+   they are drawn from NAMES distinct full names.
+
+     java -Xmx4g -cp benchmarks/target/benchmarks.jar com.airline.PassengerMemoryReport \
+          [--bookings 2000000] [--flights 2000]
+   ========================================================= */
+public class PassengerMemoryReport {
+
+    static final String[] FIRST = {"Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh",
+            "Ayaan", "Krishna", "Ishaan", "Ananya", "Diya", "Saanvi", "Aadhya", "Pari", "Anika",
+            "Navya", "Myra", "Sara", "Ira"};
+    static final String[] LAST = {"Sharma", "Verma", "Patel", "Gupta", "Singh", "Kumar", "Reddy",
+            "Nair", "Iyer", "Das", "Mehta", "Shah", "Joshi", "Rao", "Bose", "Khan", "Menon",
+            "Pillai", "Chopra", "Kapoor"};
+    static final int NAMES = FIRST.length * LAST.length;
+
+    public static void main(String[] args) {
+        int bookings = 2_000_000;
+        int flights = 2_000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--bookings": bookings = Integer.parseInt(args[i + 1]); break;
+                case "--flights": flights = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        System.out.println("Bookings: " + bookings + " on " + flights + " flights, "
+                + NAMES + " distinct names");
+        System.out.printf("records : %6.1f bytes per booking%n", records(bookings) / (double) bookings);
+        System.out.printf("service : %6.1f bytes per booking%n", service(bookings, flights) / (double) bookings);
+    }
+
+    // A fresh String for the i-th passenger's name
+    static String name(int i) {
+        return new StringBuilder().append(FIRST[i % FIRST.length]).append(' ')
+                .append(LAST[(i / FIRST.length) % LAST.length]).toString();
+    }
+
+    static int age(int i) {
+        return 18 + i % 70;     // About a quarter are 60 or older
+    }
+
+    /* -------- PASSENGER OBJECTS ONLY -------- */
+    static long records(int bookings) {
+        Flight f = new Flight("MR1", "Delhi", "Mumbai", 1, 900, 120, 16_000, 4500);
+        Passenger[] kept = new Passenger[bookings];
+        long before = usedHeap();
+        for (int i = 0; i < bookings; i++) {
+            int seatNo = 1 + i % f.totalSeats;
+            kept[i] = new Passenger(i + 1, name(i).intern(), age(i), f.id, seatNo, 4500, Passenger.CASH);
+        }
+        long used = usedHeap() - before;
+        if (kept[bookings - 1] == null) throw new AssertionError();
+        return used;
+    }
+
+    /* -------- BOOKINGS THROUGH THE SERVICE -------- */
+    static long service(int bookings, int flights) {
+        BookingService service = new BookingService(new SnowflakeIdGenerator(1));
+        int seats = Math.min(bookings / flights + 1, 16_000);
+        String[] numbers = new String[flights];
+        for (int i = 0; i < flights; i++) {
+            numbers[i] = "MR" + i;
+            service.addFlight(new Flight(numbers[i], "Delhi", "Mumbai", 1, 900, 120, seats, 4500));
+        }
+
+        long before = usedHeap();
+        int made = 0;
+        for (int i = 0; i < bookings; i++) {
+            if (service.book(numbers[i % flights], name(i), age(i), i % 4) != null) made++;
+        }
+        long used = usedHeap() - before;
+        if (made != bookings) throw new IllegalStateException("Only " + made + " bookings fitted");
+        return used;
+    }
+
+    // Live heap after a full collection
+    static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
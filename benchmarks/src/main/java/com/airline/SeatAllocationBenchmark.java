@@ -0,0 +1,63 @@
+package com.airline;
+
+// Import JMH annotations and time unit
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                 SEAT ALLOCATION BENCHMARK
+   Cost of Flight.assignSeat + cancelSeat on one flight that is
+   already filled to a given level, for each seat preference.
+   Every assigned seat is freed again, so the fill level stays
+   the same for the whole run.
+   ========================================================= */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatAllocationBenchmark {
+
+    @Param({"180", "550"})
+    int seats;              // Narrowbody / widebody
+
+    @Param({"0", "50", "90", "99"})
+    int fillPercent;        // How full the flight is before we start
+
+    @Param({"0", "1", "2", "3"})
+    int pref;               // 0 = any, 1 = Window, 2 = Middle, 3 = Aisle
+
+    Flight flight;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        flight = new Flight("BM1", "Delhi", "Mumbai", 1, 930, 130, seats, 4500);
+
+        // Book random seats (fixed seed, so every run sees the same seat map)
+        Random random = new Random(42);
+        int toBook = seats * fillPercent / 100;
+        while (seats - flight.availableSeats < toBook) {
+            flight.takeSeat(1 + random.nextInt(seats));
+        }
+    }
+
+    @Benchmark
+    public int assignAndCancel() {
+        int seatNo = flight.assignSeat(pref);
+        flight.cancelSeat(seatNo);
+        return seatNo;
+    }
+}
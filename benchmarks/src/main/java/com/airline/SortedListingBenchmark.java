@@ -0,0 +1,82 @@
+package com.airline;
+
+// Import JMH annotations and helpers
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* =========================================================
+                  SORTED LISTING BENCHMARK
+   Walking all flights in departure order, a time-window
+   query, and a route search, against copying the flight list
+   and sorting it (what every sorted listing used to cost).
+   ========================================================= */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortedListingBenchmark {
+
+    static final int CITIES = 200;
+
+    @Param({"100", "10000", "100000"})
+    int flights;
+
+    BookingService service;
+
+    @Setup(Level.Trial)
+    public void load() {
+        service = new BookingService(new SnowflakeIdGenerator(1));
+        Random random = new Random(42);
+        for (int i = 0; i < flights; i++) {
+            int from = random.nextInt(CITIES);
+            int to = (from + 1 + random.nextInt(CITIES - 1)) % CITIES;
+            int time = random.nextInt(24) * 100 + random.nextInt(12) * 5;
+            service.addFlight(new Flight("BM" + i, "C" + from, "C" + to, 1 + random.nextInt(2), time,
+                    60 + random.nextInt(540), 180, 1000 + random.nextInt(9000)));
+        }
+    }
+
+    @Benchmark
+    public long sortedListing() {
+        long sum = 0;
+        for (Flight f : service.flightsByTime()) sum += f.time;
+        return sum;
+    }
+
+    @Benchmark
+    public long copyAndSortBaseline() {
+        List<Flight> copy = new ArrayList<>(service.flights());
+        copy.sort((a, b) -> Integer.compare(a.time, b.time));
+        long sum = 0;
+        for (Flight f : copy) sum += f.time;
+        return sum;
+    }
+
+    @Benchmark
+    public long morningInternationalDepartures() {
+        long sum = 0;
+        for (Flight f : service.departuresBetween(600, 1000, 2)) sum += f.time;
+        return sum;
+    }
+
+    @Benchmark
+    public int routeSearch() {
+        return service.searchRoutes("C1", "C2", 900, 2, 10).size();
+    }
+}
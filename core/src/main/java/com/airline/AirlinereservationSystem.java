@@ -0,0 +1,727 @@
+package com.airline;
+
+// Import Scanner class to read user input from keyboard
+import java.util.Scanner;
+
+// Import date classes for the daily revenue report
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.List;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Import file I/O classes used by the booking journal
+import java.io.IOException;
+import java.nio.file.Path;
+
+/* =========================================================
+              MAIN SYSTEM CLASS: AIRLINE RESERVATION SYSTEM
+   This is where the program starts and runs
+   ========================================================= */
+public class AirlinereservationSystem {
+
+    // Scanner object to read user input
+    static Scanner sc = new Scanner(System.in);
+
+    // Thread-safe booking engine holding all flight and passenger data
+    static BookingService service;
+
+    // Durable log of every change, replayed at startup
+    static BookingJournal journal;
+
+    // Periodic full copy of the inventory, so startup only replays the journal tail
+    static SnapshotStore snapshots;
+
+    /* -------- MAIN METHOD - PROGRAM STARTING POINT -------- */
+    public static void main(String[] args) throws IOException {
+        // --router port url,url,...: forward the HTTP API to shard servers (keeps no data itself)
+        if (args.length > 0 && args[0].equals("--router")) {
+            if (args.length < 3) {
+                System.out.println("Usage: --router <port> <shard0 url>,<shard1 url>,...");
+                return;
+            }
+            ShardRouter router = new ShardRouter(List.of(args[2].split(",")), Integer.parseInt(args[1]));
+            router.start();
+            System.out.println("Shard router listening on port " + router.port() + " for "
+                    + router.shards.length + " shards. Press Ctrl+C to stop.");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> router.stop(1), "shutdown"));
+            return;
+        }
+
+        // --simulate [workload.properties] [key=value ...]: run a seeded workload
+        // against an in-memory service, print the report and exit (1 if a check failed)
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            List<String> rest = new ArrayList<>(List.of(args).subList(1, args.length));
+            Path file = !rest.isEmpty() && !rest.get(0).contains("=") ? Path.of(rest.remove(0)) : null;
+            Simulation simulation = new Simulation(Workload.load(file, rest));
+            if (!simulation.run()) System.exit(1);
+            return;
+        }
+
+        // Open the journal (-Dairline.journal=path, -Dairline.fsync=false to skip fsync)
+        Path journalPath = Path.of(System.getProperty("airline.journal", "airline.journal"));
+        boolean fsync = !"false".equals(System.getProperty("airline.fsync"));
+        journal = new BookingJournal(journalPath, fsync);
+
+        // Each running copy of the program needs its own node id (-Dairline.nodeId=N)
+        // so that booking IDs never clash between them
+        service = new BookingService(
+                new SnowflakeIdGenerator(Integer.getInteger("airline.nodeId", 0)), journal);
+
+        // How long a seat stays on hold while the customer pays (-Dairline.holdMinutes=N)
+        service.holdMillis = Long.getLong("airline.holdMinutes", 10) * 60_000L;
+
+        // Overbooking allowance in percent of seats (-Dairline.overbookPercent=N) and
+        // who gets a freed seat first (-Dairline.waitlistOrder=senior|time|fare)
+        service.overbookPercent = Integer.getInteger("airline.overbookPercent", 10);
+        service.waitlistOrder = Waitlist.order(System.getProperty("airline.waitlistOrder", "senior"));
+
+        // One shard of several (-Dairline.shards=N): only its own flights live here.
+        // The shard number is the node id, so booking IDs tell the router where they live.
+        int shardCount = Integer.getInteger("airline.shards", 0);
+        ShardRing ring = shardCount > 0 ? new ShardRing(shardCount) : null;
+        int shard = Integer.getInteger("airline.nodeId", 0);
+        if (ring != null && shard >= shardCount) {
+            throw new IllegalArgumentException("airline.nodeId must be below airline.shards");
+        }
+
+        // Rebuild flights, seat maps and bookings: the latest snapshot first,
+        // then only the journal records written after it
+        long start = System.nanoTime();
+        snapshots = new SnapshotStore(Path.of(System.getProperty("airline.snapshot", "airline.snapshot")));
+        long records = journal.replay(service, snapshots.load(service));
+        if (records > 0 || service.repo.flightCount() > 0) {
+            System.out.println("Restored " + service.repo.flightCount() + " flights and "
+                    + service.repo.passengerCount() + " bookings (" + records + " journal records) in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        }
+
+        // Seats that were on hold before the restart are free again:
+        // waitlisted passengers get them before anyone new can
+        int promoted = service.seatWaitlistedAfterRestore();
+        if (promoted > 0) System.out.println("Gave " + promoted + " freed seats to waitlisted passengers.");
+
+        // First run: add some sample flights to the system
+        // (a shard only adds the ones it owns)
+        if (service.flights().isEmpty()) {
+            Flight[] samples = {
+                new Flight("AI101", "Delhi", "Mumbai", 1, 930, 130, 10, 4500),
+                new Flight("AI102", "Delhi", "Dubai", 2, 1130, 225, 8, 25000),
+                new Flight("AI103", "Mumbai", "London", 2, 2130, 570, 6, 52000),
+                new Flight("AI104", "Surat", "Ahmedabad", 1, 700, 50, 12, 2800)
+            };
+            for (Flight f : samples) {
+                if (ring == null || ring.shardFor(f.flightNo) == shard) service.addFlight(f);
+            }
+        }
+
+        // Take a fresh snapshot every few minutes (-Dairline.snapshotMinutes=N)
+        long every = Long.getLong("airline.snapshotMinutes", 5);
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(AirlinereservationSystem::takeSnapshot, every, every, TimeUnit.MINUTES);
+
+        // --import-timetable file: add a whole schedule of flights, then exit
+        if (args.length > 1 && args[0].equals("--import-timetable")) {
+            runTimetableImport(Path.of(args[1]));
+            timer.shutdown();
+            takeSnapshot();
+            journal.close();
+            return;
+        }
+
+        // --server [port]: serve the HTTP API instead of the menu, until Ctrl+C
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            ApiServer api = new ApiServer(service, port);
+            api.ring = ring;
+            api.shard = shard;
+            api.start();
+            System.out.println("API server listening on port " + api.port()
+                    + (ApiServer.virtualThreads() ? " (virtual threads)" : " (thread pool)")
+                    + ". Press Ctrl+C to stop.");
+
+            // Save a final snapshot and flush the journal on the way out
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                api.stop(1);
+                timer.shutdown();
+                takeSnapshot();
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.out.println("Closing the journal failed: " + e.getMessage());
+                }
+            }, "shutdown"));
+            return;  // The server's own thread keeps the program running
+        }
+
+        // Start the main menu
+        mainMenu();
+
+        // Save a final snapshot and make sure everything is on disk before exiting
+        timer.shutdown();
+        takeSnapshot();
+        journal.close();
+    }
+
+    /* -------- SAVE A SNAPSHOT -------- */
+    static synchronized void takeSnapshot() {
+        try {
+            snapshots.write(service);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Snapshot failed: " + e.getMessage());
+        }
+    }
+
+    /* ===================== MAIN MENU ===================== */
+    // Shows the first menu users see when program starts
+    static void mainMenu() {
+        int choice;  // Variable to store user's menu choice
+        
+        do {
+            // Display menu options
+            System.out.println("\n=== AIRLINE RESERVATION SYSTEM ===");
+            System.out.println("1. Admin Login");
+            System.out.println("2. User");
+            System.out.println("3. Exit");
+            System.out.println("4. Enter your Choice");
+            
+            // Read user's choice
+            choice = sc.nextInt();
+
+            // Based on choice, call appropriate function
+            if (choice == 1) adminLogin();   // Go to admin section
+            else if (choice == 2) userMenu(); // Go to user section
+            
+        } while (choice != 3);  // Continue until user chooses Exit (3)
+    }
+
+    /* ===================== USER MENU ===================== */
+    // Menu for regular users (passengers)
+    static void userMenu() {
+        int ch;  // Variable for user's choice
+        
+        do {
+            // Display user options
+            System.out.println("\n--- USER MENU ---");
+            System.out.println("1. View Domestic Flights");
+            System.out.println("2. View International Flights");
+            System.out.println("3. View Flights (Sorted by Time)");
+            System.out.println("4. Book Ticket");
+            System.out.println("5. Cancel Ticket");
+            System.out.println("6. View My Ticket");
+            System.out.println("7. Search Routes");
+            System.out.println("8. View Departures Between Times");
+            System.out.println("9. Back");
+            
+            ch = sc.nextInt();  // Read user choice
+
+            // Call appropriate function based on choice
+            if (ch == 1) viewFlightsByType(1);      // Domestic flights
+            else if (ch == 2) viewFlightsByType(2); // International flights
+            else if (ch == 3) viewFlightsSorted();  // All flights sorted by time
+            else if (ch == 4) bookTicket();         // Book a new ticket
+            else if (ch == 5) cancelTicket();       // Cancel existing ticket
+            else if (ch == 6) viewMyTicket();       // View ticket details
+            else if (ch == 7) searchRoutes();       // Direct and connecting flights
+            else if (ch == 8) viewDeparturesBetween(); // Flights in a time window
+
+        } while (ch != 9);  // Continue until user chooses Back (9)
+    }
+
+    /* ===================== VIEW ALL FLIGHTS ===================== */
+    // Displays all available flights
+    static void viewFlights() {
+        // Loop through all flights and display each one (the listing is
+        // collected as bytes and printed in one go)
+        ListingWriter out = new ListingWriter(System.out);
+        for (Flight f : service.flights()) {
+            f.render(out);
+        }
+        out.flush();
+    }
+
+    /* ===================== VIEW FLIGHTS BY TYPE ===================== */
+    // Shows only domestic (type=1) or international (type=2) flights
+    static void viewFlightsByType(int type) {
+        boolean found = false;  // Flag to check if any flights found
+        
+        // Loop through all flights
+        ListingWriter out = new ListingWriter(System.out);
+        for (Flight f : service.flights()) {
+            // Check if flight type matches requested type
+            if (f.type == type) {
+                f.render(out);      // Add the flight to the listing
+                found = true;       // Mark as found
+            }
+        }
+        out.flush();
+        
+        // If no flights found, show message
+        if (!found) {
+            System.out.println("No flights of this type available!");
+        }
+    }
+
+    /* ===================== VIEW SORTED FLIGHTS ===================== */
+    // Shows all flights sorted by departure time (earliest first)
+    static void viewFlightsSorted() {
+        // The departure index is already in time order: no sorting needed
+        ListingWriter out = new ListingWriter(System.out);
+        for (Flight f : service.flightsByTime()) {
+            f.render(out);
+        }
+        out.flush();
+    }
+
+    /* ===================== VIEW DEPARTURES IN A TIME WINDOW ===================== */
+    // Shows flights leaving between two times, optionally of one type only
+    static void viewDeparturesBetween() {
+        System.out.print("From (HHMM): ");
+        int from = sc.nextInt();
+
+        System.out.print("To (HHMM): ");
+        int to = sc.nextInt();
+
+        System.out.print("Type (0.All 1.Domestic 2.International): ");
+        int type = sc.nextInt();
+        if (type < 0 || type > 2) type = 0;
+
+        boolean found = false;
+        ListingWriter out = new ListingWriter(System.out);
+        for (Flight f : service.departuresBetween(from, to, type)) {
+            f.render(out);
+            found = true;
+        }
+        out.flush();
+        if (!found) {
+            System.out.println("No flights in this time window!");
+        }
+    }
+
+    /* ===================== SEARCH ROUTES ===================== */
+    // Shows direct flights and connections (up to 2 stops) between two cities
+    static void searchRoutes() {
+        sc.nextLine();  // Clear input buffer
+
+        System.out.print("From: ");
+        String from = sc.nextLine();
+
+        System.out.print("To: ");
+        String to = sc.nextLine();
+
+        System.out.print("Leaving after (HHMM): ");
+        int after = sc.nextInt();
+
+        List<Itinerary> found = service.searchRoutes(from, to, after, 2, 10);
+        if (found.isEmpty()) {
+            System.out.println("No routes found!");
+            return;
+        }
+        for (Itinerary it : found) {
+            it.displayItinerary();
+        }
+    }
+
+    /* ===================== BOOK A NEW TICKET ===================== */
+    static void bookTicket() {
+        sc.nextLine();  // Clear the input buffer
+        
+        // Get passenger information
+        System.out.print("Enter Name: ");
+        String name = sc.nextLine();
+        
+        System.out.print("Enter Age: ");
+        int age = sc.nextInt();
+        sc.nextLine();  // Clear buffer after reading integer
+        
+        System.out.print("Enter Flight Number: ");
+        String fno = sc.nextLine();
+
+        // Find the selected flight (null if no such flight)
+        Flight selectedFlight = service.findFlight(fno);
+
+        // If flight not found, show error and return
+        if (selectedFlight == null) {
+            System.out.println("Flight not found!");
+            return;
+        }
+
+        // Show flight details to user
+        System.out.println("\n--- FLIGHT DETAILS ---");
+        selectedFlight.displayFlight();
+
+        // Check if seats are available (a full flight may still have waitlist places)
+        if (selectedFlight.availableSeats <= 0) {
+            joinWaitlist(selectedFlight, name, age);
+            return;
+        }
+
+        // Confirm booking with user
+        System.out.print("Do you want to proceed with booking this flight? (Y/N): ");
+        char confirm = sc.nextLine().toUpperCase().charAt(0);
+        if (confirm != 'Y') {
+            System.out.println("Booking cancelled by user.");
+            return;
+        }
+
+        // Get seat preference from user
+        System.out.print("Choose Seat Type (1.Window 2.Middle 3.Aisle): ");
+        int pref = sc.nextInt();
+
+        // Hold a seat (try for preference, otherwise any available) while
+        // the customer pays. Another agent may have taken the last seat.
+        SeatHold hold = service.hold(selectedFlight.flightNo, pref);
+        if (hold == null) {
+            joinWaitlist(selectedFlight, name, age);
+            return;
+        }
+        System.out.println("Seat " + hold.seatNo + " is held for you for "
+                + service.holdMillis / 60_000 + " minutes at ₹"
+                + (age >= 60 ? hold.seniorFare : hold.regularFare) + ".");
+
+        // Get payment method
+        System.out.print("Payment Method (1.Cash 2.UPI 3.Cancel): ");
+        int pay = sc.nextInt();
+        if (pay == 3) {
+            service.release(hold);
+            System.out.println("Booking cancelled by user. Seat released.");
+            return;
+        }
+
+        // Turn the hold into a booking (fails if the customer took too long)
+        int payMethod = pay == 2 ? Passenger.UPI : Passenger.CASH;
+        Passenger p = service.confirm(hold, name, age, payMethod);
+        if (p == null) {
+            System.out.println("Sorry! Your seat hold has expired. Please book again.");
+            return;
+        }
+
+        // Senior citizens (age 60+) get the pricing engine's category discount
+        if (age >= 60) {
+            long percent = Math.round((1 - service.pricing.categoryFactor(FareQuote.SENIOR)) * 100);
+            System.out.println("Senior Citizen Discount Applied: " + percent + "%");
+        }
+
+        // Show payment confirmation
+        if (pay == 1) System.out.println("Cash Payment Successful: ₹" + p.paidAmount);
+        else if (pay == 2) System.out.println("UPI Payment Successful: ₹" + p.paidAmount);
+        else System.out.println("Invalid Payment, assuming Cash: ₹" + p.paidAmount);
+
+        // Show booking confirmation
+        System.out.println("\n✅ Ticket Booked Successfully!");
+        System.out.println("Booking ID: " + BookingIds.format(p.bookingId));
+        p.displayPassenger(selectedFlight);  // Show passenger details
+    }
+
+    /* -------- JOIN THE WAITLIST OF A FULL FLIGHT -------- */
+    // The ticket is paid now; the first seat given up on the flight goes to
+    // the first passenger on the waitlist (senior citizens first by default)
+    static void joinWaitlist(Flight f, String name, int age) {
+        if (f.waitlist.size() >= service.overbookLimit(f)) {
+            System.out.println("Sorry! No seats available on this flight.");
+            return;
+        }
+        System.out.println("This flight is full. You can join the waitlist at ₹"
+                + f.currentFare(age >= 60 ? FareQuote.SENIOR : FareQuote.REGULAR)
+                + " and get the first seat that becomes free.");
+        System.out.print("Payment Method (1.Cash 2.UPI 3.Cancel): ");
+        int pay = sc.nextInt();
+        if (pay == 3) {
+            System.out.println("Booking cancelled by user.");
+            return;
+        }
+
+        Passenger p = service.book(f.flightNo, name, age, 0, pay == 2 ? Passenger.UPI : Passenger.CASH);
+        if (p == null) {
+            System.out.println("Sorry! The waitlist is full too.");
+            return;
+        }
+        System.out.println((pay == 2 ? "UPI" : "Cash") + " Payment Successful: ₹" + p.paidAmount);
+        if (!p.isWaitlisted()) {
+            System.out.println("\n✅ A seat became free: Ticket Booked Successfully!");
+        } else {
+            System.out.println("\n✅ You are on the waitlist at position " + service.waitlistPosition(p) + ".");
+        }
+        System.out.println("Booking ID: " + BookingIds.format(p.bookingId));
+        p.displayPassenger(f);
+    }
+
+    /* ===================== CANCEL EXISTING TICKET ===================== */
+    static void cancelTicket() {
+        sc.nextLine();  // Clear input buffer
+        
+        System.out.print("Booking ID: ");
+        String id = sc.nextLine();
+
+        // Remove the booking and free up its seat on the flight
+        Passenger p = service.cancel(id);
+
+        // If booking ID not found
+        if (p == null) {
+            System.out.println("Booking ID not found!");
+            return;
+        }
+        System.out.println("Ticket Cancelled!");
+    }
+
+    /* ===================== VIEW TICKET DETAILS ===================== */
+    static void viewMyTicket() {
+        sc.nextLine();  // Clear input buffer
+        
+        System.out.print("Booking ID: ");
+        String id = sc.nextLine();
+
+        // Look up the passenger with given booking ID
+        Passenger p = service.findBooking(id);
+        
+        // If ticket not found
+        if (p == null) {
+            System.out.println("Ticket not found!");
+            return;
+        }
+        p.displayPassenger(service.flightOf(p));  // Show passenger details
+
+        // Still waiting for a seat?
+        int position = service.waitlistPosition(p);
+        if (position > 0) System.out.println("Waitlist   : position " + position);
+    }
+
+    /* ===================== ADMIN FUNCTIONS ===================== */
+    
+    /* -------- ADMIN LOGIN -------- */
+    static void adminLogin() {
+        sc.nextLine();  // Clear input buffer
+        
+        // Get login credentials
+        System.out.print("Admin ID: ");
+        String id = sc.nextLine();
+        
+        System.out.print("Password: ");
+        String pass = sc.nextLine();
+
+        // Check credentials (hardcoded for simplicity)
+        if (id.equals("admin") && pass.equals("admin123")) {
+            adminMenu();  // Go to admin menu if credentials correct
+        } else {
+            System.out.println("Invalid Login!");
+        }
+    }
+
+    /* -------- ADMIN MENU -------- */
+    static void adminMenu() {
+        int ch;  // Variable for admin's choice
+        
+        do {
+            // Display admin options
+            System.out.println("\n--- ADMIN MENU ---");
+            System.out.println("1. Add Flight");
+            System.out.println("2. View All Flights");
+            System.out.println("3. View Passengers by Flight");
+            System.out.println("4. Daily Revenue Report");
+            System.out.println("5. Import Group Booking (CSV)");
+            System.out.println("6. View Metrics");
+            System.out.println("7. Flight Analytics");
+            System.out.println("8. Import Timetable (CSV)");
+            System.out.println("9. Logout");
+            
+            ch = sc.nextInt();  // Read admin's choice
+
+            // Call appropriate function
+            if (ch == 1) addFlight();               // Add new flight
+            else if (ch == 2) viewFlights();        // View all flights
+            else if (ch == 3) viewPassengersByFlight(); // View passengers
+            else if (ch == 4) dailyRevenueReport(); // Money in and out for a day
+            else if (ch == 5) importGroupBooking(); // Many passengers from a file
+            else if (ch == 6) System.out.print(service.metricsReport()); // Counters and timings
+            else if (ch == 7) flightAnalytics();    // Scans over all flights
+            else if (ch == 8) importTimetable();    // Many flights from a file
+
+        } while (ch != 9);  // Continue until Logout (9)
+    }
+
+    /* -------- ADD NEW FLIGHT (ADMIN ONLY) -------- */
+    static void addFlight() {
+        sc.nextLine();  // Clear input buffer
+        
+        System.out.print("Flight No: ");
+        String fno = sc.nextLine();
+
+        // Check if flight number already exists
+        if (service.findFlight(fno) != null) {
+            System.out.println("Flight with this number already exists!");
+            return;  // Exit if flight already exists
+        }
+
+        // Get flight details from admin
+        System.out.print("Source: ");
+        String src = sc.nextLine();
+        
+        System.out.print("Destination: ");
+        String dest = sc.nextLine();
+        
+        System.out.print("Type (1.Domestic 2.International): ");
+        int type = sc.nextInt();
+        
+        System.out.print("Time (HHMM): ");
+        int time = sc.nextInt();
+
+        System.out.print("Duration (minutes): ");
+        int duration = sc.nextInt();
+        
+        System.out.print("Seats: ");
+        int seats = sc.nextInt();
+        
+        System.out.print("Fare: ");
+        double fare = sc.nextDouble();
+
+        if (seats < 1 || seats > Flight.MAX_SEATS) {
+            System.out.println("Seats must be 1-" + Flight.MAX_SEATS + ".");
+            return;
+        }
+        if (fno.length() > Flight.MAX_TEXT || src.length() > Flight.MAX_TEXT || dest.length() > Flight.MAX_TEXT) {
+            System.out.println("Flight number and cities must be at most " + Flight.MAX_TEXT + " characters.");
+            return;
+        }
+
+        // Create new flight and add it (another admin may have added it meanwhile)
+        if (!service.addFlight(new Flight(fno, src, dest, type, time, duration, seats, fare))) {
+            System.out.println("Flight with this number already exists!");
+            return;
+        }
+        System.out.println("Flight Added Successfully!");
+    }
+
+    /* -------- VIEW PASSENGERS BY FLIGHT (ADMIN ONLY) -------- */
+    static void viewPassengersByFlight() {
+        sc.nextLine();  // Clear input buffer
+        
+        System.out.print("Enter Flight Number: ");
+        String fno = sc.nextLine();
+
+        // If flight doesn't exist, show error
+        if (service.findFlight(fno) == null) {
+            System.out.println("Flight not found.");
+            return;
+        }
+
+        // Search for passengers on this flight
+        boolean passengerFound = false;
+        System.out.println("\n--- PASSENGERS FOR FLIGHT " + fno + " ---");
+
+        // Loop through only the passengers booked on this flight
+        Flight f = service.findFlight(fno);
+        ListingWriter out = new ListingWriter(System.out);
+        for (Passenger p : service.manifest(fno)) {
+            p.render(out, f);       // Add passenger details to the listing
+            passengerFound = true;  // Mark as found
+        }
+        out.flush();
+
+        // If no passengers found for this flight
+        if (!passengerFound) {
+            System.out.println("No passengers booked for this flight yet.");
+        }
+    }
+
+    /* -------- DAILY REVENUE REPORT (ADMIN ONLY) -------- */
+    static void dailyRevenueReport() {
+        sc.nextLine();  // Clear input buffer
+
+        System.out.print("Date (YYYY-MM-DD, blank = today): ");
+        String text = sc.nextLine().trim();
+
+        LocalDate date;
+        try {
+            date = text.isEmpty() ? LocalDate.now(service.clock) : LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date!");
+            return;
+        }
+        service.revenue.displayDay(date);
+    }
+
+    /* -------- IMPORT GROUP BOOKING FROM CSV (ADMIN ONLY) -------- */
+    static void importGroupBooking() {
+        sc.nextLine();  // Clear input buffer
+
+        System.out.println("One passenger per line: flightNo,name,age[,seatPref[,cash|upi]]");
+        System.out.print("CSV file: ");
+        Path file = Path.of(sc.nextLine().trim());
+
+        System.out.print("Seat each group together? (Y/N): ");
+        boolean together = sc.nextLine().trim().equalsIgnoreCase("Y");
+
+        GroupBookingImport importer = new GroupBookingImport(service, together);
+        long start = System.nanoTime();
+        try {
+            importer.run(file);
+        } catch (IOException e) {
+            System.out.println("Cannot read file: " + e.getMessage());
+        }
+        System.out.println("Booked " + importer.booked + " passengers, rejected " + importer.rejected
+                + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        for (String error : importer.errors) System.out.println("  " + error);
+    }
+
+    /* -------- IMPORT A TIMETABLE (ADMIN ONLY) -------- */
+    static void importTimetable() {
+        sc.nextLine();  // Clear input buffer
+
+        System.out.println("One flight per line: flightNo,source,destination,type,HHMM,minutes,seats,fare");
+        System.out.print("CSV file: ");
+        runTimetableImport(Path.of(sc.nextLine().trim()));
+    }
+
+    static void runTimetableImport(Path file) {
+        TimetableImport importer = new TimetableImport(service);
+        long start = System.nanoTime();
+        try {
+            importer.run(file);
+        } catch (IOException e) {
+            System.out.println("Cannot read file: " + e.getMessage());
+            return;
+        }
+        System.out.println("Added " + importer.added + " of " + importer.lines + " flights, rejected "
+                + importer.rejected + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        for (String error : importer.errors) System.out.println("  " + error);
+    }
+
+    /* -------- FLIGHT ANALYTICS (ADMIN ONLY) -------- */
+    // Whole-fleet questions answered by scanning the column copy of the flights
+    static void flightAnalytics() {
+        System.out.print("Type (0.All 1.Domestic 2.International): ");
+        int type = sc.nextInt();
+        if (type < 0 || type > 2) type = 0;
+
+        System.out.print("Leaving from (HHMM): ");
+        int from = sc.nextInt();
+
+        System.out.print("Leaving until (HHMM): ");
+        int to = sc.nextInt();
+
+        long start = System.nanoTime();
+        long count = service.table.countDepartures(type, from, to);
+        List<FlightTable.RouteLoad> loads = service.table.loadByRoute();
+        long ms = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(count + " flights leave between " + Flight.formatTime(from)
+                + " and " + Flight.formatTime(to) + " (scanned in " + ms + " ms)");
+
+        System.out.println("\n--- LOAD FACTOR BY ROUTE (fullest first) ---");
+        for (int i = 0; i < Math.min(10, loads.size()); i++) {
+            FlightTable.RouteLoad r = loads.get(i);
+            System.out.printf("%-30s %5.1f%%  (%d flights, %d/%d seats sold)%n",
+                    r.source + " -> " + r.destination, r.loadFactor() * 100, r.flights, r.sold, r.seats);
+        }
+    }
+}
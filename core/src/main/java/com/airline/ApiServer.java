@@ -0,0 +1,372 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Import thread pools for handling requests
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Import the JDK's built-in HTTP server and I/O classes
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/* =========================================================
+                       API SERVER CLASS
+   HTTP/JSON interface to the BookingService, using only the
+   JDK's built-in server. Each request runs on its own virtual
+   thread (Java 21+; a cached thread pool on older JDKs), so a
+   request waiting for the journal's fsync ties up no OS thread.
+
+     GET    /flights?type=1|2&sorted=true   list flights
+     GET    /flights/{no}                   one flight
+     POST   /flights                        add flight     (admin)
+     GET    /flights/{no}/passengers        manifest       (admin)
+     GET    /search?from=&to=&after=HHMM&stops=2&limit=10
+     POST   /bookings                       book a seat
+     GET    /bookings/{id}                  view ticket
+     DELETE /bookings/{id}                  cancel ticket
+     GET    /metrics                        counters and latencies (text)
+
+   Admin calls use HTTP Basic auth with the menu's admin login.
+   ========================================================= */
+class ApiServer {
+
+    static final String ADMIN_AUTH = "Basic "
+            + Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+    static final int MAX_BODY = 64 * 1024;  // Requests are small; anything bigger is refused
+
+    BookingService service;
+    HttpServer server;
+    ExecutorService executor;
+
+    // When running as one shard of several: the ring and this shard's
+    // number, so flights that belong elsewhere are refused (null = unsharded)
+    ShardRing ring;
+    int shard;
+
+    /* -------- CREATE AND START -------- */
+    ApiServer(BookingService service, int port) throws IOException {
+        this.service = service;
+        server = HttpServer.create(new InetSocketAddress(port), 8192);  // Long accept queue for connection bursts
+        server.createContext("/", this::handle);
+        executor = requestExecutor();
+        server.setExecutor(executor);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    // Stops accepting requests, lets running ones finish for up to `seconds`
+    void stop(int seconds) {
+        server.stop(seconds);
+        executor.shutdown();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    // A virtual thread per request where the JDK has them (found by
+    // reflection, since the code is compiled for Java 17)
+    static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    static boolean virtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /* ===================== ROUTING ===================== */
+    void handle(HttpExchange ex) throws IOException {
+        try {
+            String method = ex.getRequestMethod();
+            String[] path = ex.getRequestURI().getPath().split("/");  // "", "flights", "AI101", ...
+            Map<String, String> query = parseQuery(ex.getRequestURI().getRawQuery());
+            String body = readBody(ex);
+
+            String resource = path.length > 1 ? path[1] : "";
+            if (resource.equals("flights")) {
+                if (path.length == 2 && method.equals("GET")) listFlights(ex, query);
+                else if (path.length == 2 && method.equals("POST")) addFlight(ex, body);
+                else if (path.length == 3 && method.equals("GET")) viewFlight(ex, path[2]);
+                else if (path.length == 4 && path[3].equals("passengers") && method.equals("GET")) manifest(ex, path[2]);
+                else send(ex, 404, Json.error("Not found"));
+            } else if (resource.equals("search") && path.length == 2 && method.equals("GET")) {
+                search(ex, query);
+            } else if (resource.equals("metrics") && path.length == 2 && method.equals("GET")) {
+                sendText(ex, 200, service.metricsReport());
+            } else if (resource.equals("bookings")) {
+                if (path.length == 2 && method.equals("POST")) book(ex, body);
+                else if (path.length == 3 && method.equals("GET")) viewBooking(ex, path[2]);
+                else if (path.length == 3 && method.equals("DELETE")) cancel(ex, path[2]);
+                else send(ex, 404, Json.error("Not found"));
+            } else {
+                send(ex, 404, Json.error("Not found"));
+            }
+        } catch (IllegalArgumentException e) {
+            send(ex, 400, Json.error(e.getMessage() == null ? "Bad request" : e.getMessage()));
+        } catch (RuntimeException e) {
+            serverError(ex, e);
+        } finally {
+            ex.close();
+        }
+    }
+
+    /* ===================== FLIGHTS ===================== */
+    void listFlights(HttpExchange ex, Map<String, String> query) throws IOException {
+        int type = intParam(query, "type", 0);
+        Collection<Flight> flights = "true".equals(query.get("sorted")) ? service.flightsByTime() : service.flights();
+
+        StringBuilder out = new StringBuilder("[");
+        for (Flight f : flights) {
+            if (type != 0 && f.type != type) continue;
+            if (out.length() > 1) out.append(',');
+            flightJson(out, f);
+        }
+        send(ex, 200, out.append(']').toString());
+    }
+
+    void viewFlight(HttpExchange ex, String flightNo) throws IOException {
+        Flight f = service.findFlight(flightNo);
+        if (f == null) send(ex, 404, Json.error("Flight not found"));
+        else send(ex, 200, flightJson(new StringBuilder(), f).toString());
+    }
+
+    void addFlight(HttpExchange ex, String body) throws IOException {
+        if (!isAdmin(ex)) return;
+        Map<String, String> in = Json.parseObject(body);
+        String flightNo = required(in, "flightNo");
+        if (ring != null && ring.shardFor(flightNo) != shard) {
+            send(ex, 421, Json.error("Flight " + flightNo + " belongs to shard " + ring.shardFor(flightNo)));
+            return;
+        }
+        int type = intField(in, "type");
+        int time = intField(in, "time");
+        int duration = intField(in, "duration");
+        int seats = intField(in, "seats");
+        double fare = doubleField(in, "fare");
+        if (type != 1 && type != 2) throw new IllegalArgumentException("type must be 1 (Domestic) or 2 (International)");
+        if (time < 0 || time > 2359 || time % 100 > 59) throw new IllegalArgumentException("time must be HHMM");
+        if (duration <= 0 || seats <= 0 || fare <= 0) throw new IllegalArgumentException("duration, seats and fare must be positive");
+        if (seats > Flight.MAX_SEATS) throw new IllegalArgumentException("seats must be at most " + Flight.MAX_SEATS);
+        String source = required(in, "source");
+        String destination = required(in, "destination");
+        if (flightNo.length() > Flight.MAX_TEXT || source.length() > Flight.MAX_TEXT
+                || destination.length() > Flight.MAX_TEXT) {
+            throw new IllegalArgumentException("flightNo, source and destination must be at most "
+                    + Flight.MAX_TEXT + " characters");
+        }
+
+        Flight f = new Flight(flightNo, source, destination, type, time, duration, seats, fare);
+        if (!service.addFlight(f)) send(ex, 409, Json.error("Flight with this number already exists"));
+        else send(ex, 201, flightJson(new StringBuilder(), f).toString());
+    }
+
+    void manifest(HttpExchange ex, String flightNo) throws IOException {
+        if (!isAdmin(ex)) return;
+        if (service.findFlight(flightNo) == null) {
+            send(ex, 404, Json.error("Flight not found"));
+            return;
+        }
+        StringBuilder out = new StringBuilder("[");
+        for (Passenger p : service.manifest(flightNo)) {
+            if (out.length() > 1) out.append(',');
+            passengerJson(out, p);
+        }
+        send(ex, 200, out.append(']').toString());
+    }
+
+    /* ===================== SEARCH ===================== */
+    void search(HttpExchange ex, Map<String, String> query) throws IOException {
+        String from = query.get("from");
+        String to = query.get("to");
+        if (from == null || to == null) throw new IllegalArgumentException("from and to are required");
+        int after = intParam(query, "after", 0);
+        int stops = Math.min(intParam(query, "stops", 2), 3);
+        int limit = Math.min(intParam(query, "limit", 10), 100);
+
+        List<Itinerary> found = service.searchRoutes(from, to, after, stops, limit);
+        StringBuilder out = new StringBuilder("[");
+        for (Itinerary it : found) {
+            if (out.length() > 1) out.append(',');
+            out.append("{\"stops\":").append(it.stops())
+               .append(",\"fare\":").append(it.totalFare())
+               .append(",\"minutes\":").append(it.arrives - it.departs[0])
+               .append(",\"arrivesAt\":").append(it.arrives)
+               .append(",\"legs\":[");
+            for (int i = 0; i < it.legs.size(); i++) {
+                Flight f = it.legs.get(i);
+                if (i > 0) out.append(',');
+                out.append("{\"flightNo\":");
+                Json.quote(out, f.flightNo).append(",\"from\":");
+                Json.quote(out, f.source).append(",\"to\":");
+                Json.quote(out, f.destination).append(",\"departs\":");
+                Json.quote(out, Itinerary.formatMinute(it.departs[i])).append(",\"arrives\":");
+                Json.quote(out, Itinerary.formatMinute(it.departs[i] + f.duration)).append('}');
+            }
+            out.append("]}");
+        }
+        send(ex, 200, out.append(']').toString());
+    }
+
+    /* ===================== BOOKINGS ===================== */
+    void book(HttpExchange ex, String body) throws IOException {
+        Map<String, String> in = Json.parseObject(body);
+        String flightNo = required(in, "flightNo");
+        String name = required(in, "name");
+        int age = intField(in, "age");
+        int pref = in.containsKey("seatPref") ? intField(in, "seatPref") : 0;
+        int payMethod = in.containsKey("payMethod") ? GroupBookingImport.payMethod(in.get("payMethod")) : Passenger.CASH;
+        if (age < 0 || pref < 0 || pref > 3 || payMethod == 0) {
+            throw new IllegalArgumentException("age >= 0, seatPref 0-3, payMethod cash or upi");
+        }
+
+        if (service.findFlight(flightNo) == null) {
+            send(ex, 404, Json.error("Flight not found"));
+            return;
+        }
+        Passenger p = service.book(flightNo, name, age, pref, payMethod);
+        if (p == null) send(ex, 409, Json.error("No seats available on this flight"));
+        else send(ex, 201, passengerJson(new StringBuilder(), p).toString());
+    }
+
+    void viewBooking(HttpExchange ex, String id) throws IOException {
+        Passenger p = service.findBooking(id);
+        if (p == null) send(ex, 404, Json.error("Ticket not found"));
+        else send(ex, 200, passengerJson(new StringBuilder(), p).toString());
+    }
+
+    void cancel(HttpExchange ex, String id) throws IOException {
+        Passenger p = service.cancel(id);
+        if (p == null) send(ex, 404, Json.error("Ticket not found"));
+        else send(ex, 200, passengerJson(new StringBuilder(), p).toString());
+    }
+
+    /* ===================== JSON OUTPUT ===================== */
+    static StringBuilder flightJson(StringBuilder out, Flight f) {
+        out.append("{\"flightNo\":");
+        Json.quote(out, f.flightNo).append(",\"source\":");
+        Json.quote(out, f.source).append(",\"destination\":");
+        Json.quote(out, f.destination).append(",\"type\":");
+        Json.quote(out, f.type == 1 ? "Domestic" : "International").append(",\"time\":");
+        Json.quote(out, f.getFormattedTime());
+        return out.append(",\"hhmm\":").append(f.time)
+                .append(",\"duration\":").append(f.duration)
+                .append(",\"fare\":").append(f.currentFare(FareQuote.REGULAR))
+                .append(",\"availableSeats\":").append(f.availableSeats)
+                .append(",\"totalSeats\":").append(f.totalSeats).append('}');
+    }
+
+    StringBuilder passengerJson(StringBuilder out, Passenger p) {
+        out.append("{\"bookingId\":");
+        Json.quote(out, BookingIds.format(p.bookingId)).append(",\"name\":");
+        Json.quote(out, p.name).append(",\"age\":").append(p.age).append(",\"flightNo\":");
+        Json.quote(out, service.flightOf(p).flightNo);
+        int seatNo = p.seatNo();
+        return out.append(",\"seatNo\":").append(seatNo)
+                .append(",\"waitlisted\":").append(seatNo == 0)
+                .append(",\"paid\":").append(p.paidAmount)
+                .append(",\"payMethod\":\"").append(p.payMethod == Passenger.UPI ? "UPI" : "Cash").append("\"}");
+    }
+
+    /* ===================== HELPERS ===================== */
+    static void send(HttpExchange ex, int status, String json) throws IOException {
+        write(ex, status, "application/json; charset=utf-8", json);
+    }
+
+    // Logs an unexpected failure here and tells the client only that it
+    // happened (the details can name files and internal causes)
+    static void serverError(HttpExchange ex, RuntimeException e) throws IOException {
+        System.err.println("Request " + ex.getRequestMethod() + " " + ex.getRequestURI().getPath() + " failed:");
+        e.printStackTrace();
+        send(ex, 500, Json.error("Internal server error"));
+    }
+
+    static void sendText(HttpExchange ex, int status, String text) throws IOException {
+        write(ex, status, "text/plain; charset=utf-8", text);
+    }
+
+    static void write(HttpExchange ex, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", contentType);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Checks the Basic auth header; answers 401 itself when it is wrong
+    static boolean isAdmin(HttpExchange ex) throws IOException {
+        if (ADMIN_AUTH.equals(ex.getRequestHeaders().getFirst("Authorization"))) return true;
+        ex.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"airline\"");
+        send(ex, 401, Json.error("Admin login required"));
+        return false;
+    }
+
+    static String readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] b = in.readNBytes(MAX_BODY + 1);
+            if (b.length > MAX_BODY) throw new IllegalArgumentException("Request body too large");
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+
+    static Map<String, String> parseQuery(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    static String required(Map<String, String> in, String key) {
+        String value = in.get(key);
+        if (value == null || value.isBlank()) throw new IllegalArgumentException(key + " is required");
+        return value.trim();
+    }
+
+    static int intField(Map<String, String> in, String key) {
+        try {
+            return Integer.parseInt(required(in, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number");
+        }
+    }
+
+    static double doubleField(Map<String, String> in, String key) {
+        try {
+            return Double.parseDouble(required(in, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number");
+        }
+    }
+
+    static int intParam(Map<String, String> query, String key, int fallback) {
+        return query.containsKey(key) ? intField(query, key) : fallback;
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline;
+
+/* =========================================================
+                  BOOKING ID GENERATOR INTERFACE
+   Anything that can hand out unique booking IDs.
+   IDs are plain longs; they are only turned into text
+   (see BookingIds) when shown to a user.
+   ========================================================= */
+interface BookingIdGenerator {
+    long nextId();
+}
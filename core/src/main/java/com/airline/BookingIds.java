@@ -0,0 +1,53 @@
+package com.airline;
+
+/* =========================================================
+                     BOOKING ID TEXT FORMAT
+   Turns booking IDs into short text like "BK1J5N8Q2W3E0" and back.
+   Uses Crockford base-32 (no I, L, O, U) so IDs are easy to
+   read out over the phone and can be typed in any case.
+   ========================================================= */
+class BookingIds {
+
+    static final char[] DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    static final String PREFIX = "BK";
+
+    // ID -> text (only called when the ID is displayed)
+    static String format(long id) {
+        char[] buf = new char[PREFIX.length() + 13];  // 13 base-32 digits hold 64 bits
+        int pos = buf.length;
+        do {
+            buf[--pos] = DIGITS[(int) (id & 31)];
+            id >>>= 5;
+        } while (id != 0);
+        buf[--pos] = 'K';
+        buf[--pos] = 'B';
+        return new String(buf, pos, buf.length - pos);
+    }
+
+    // Text -> ID; returns -1 if the text is not a valid booking ID.
+    // The "BK" prefix is optional and letters may be in any case.
+    static long parse(String text) {
+        String t = text.trim();
+        int start = t.regionMatches(true, 0, PREFIX, 0, PREFIX.length()) ? PREFIX.length() : 0;
+        if (start == t.length() || t.length() - start > 13) return -1;
+
+        long id = 0;
+        for (int i = start; i < t.length(); i++) {
+            int d = digit(t.charAt(i));
+            if (d < 0 || (id >>> 58) != 0) return -1;  // Bad character or too big
+            id = (id << 5) | d;
+        }
+        return id;
+    }
+
+    // Value of one base-32 character, or -1 if it is not one
+    static int digit(char c) {
+        c = Character.toUpperCase(c);
+        if (c == 'O') c = '0';                 // Common typing mistakes
+        if (c == 'I' || c == 'L') c = '1';
+        for (int d = 0; d < DIGITS.length; d++) {
+            if (DIGITS[d] == c) return d;
+        }
+        return -1;
+    }
+}
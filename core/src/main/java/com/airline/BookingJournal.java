@@ -0,0 +1,407 @@
+package com.airline;
+
+// Import file I/O classes used by the booking journal
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/* =========================================================
+                     BOOKING JOURNAL CLASS
+   Append-only write-ahead log of every flight added, ticket
+   booked, ticket cancelled and waitlisted passenger given a
+   seat, so nothing is lost on restart.
+
+   File layout:
+     header : "ARJ1" magic, int version, long journal id
+     records: int length, int crc32, then `length` body bytes
+              body = byte type + the record's fields
+
+   Group commit: bookers only copy their record into a memory
+   buffer. One background thread writes whatever has piled up
+   and calls fsync once for the whole batch, then wakes every
+   booker whose record was in it.
+   ========================================================= */
+class BookingJournal implements AutoCloseable {
+
+    // Record types
+    static final byte FLIGHT_ADDED = 1;
+    static final byte BOOKED = 2;
+    static final byte CANCELLED = 3;
+    static final byte SEATED = 4;
+
+    static final int MAGIC = 0x41524A31;     // "ARJ1"
+    static final int VERSION = 6;
+    static final int HEADER_SIZE = 16;
+    static final int MAX_RECORD = 1 << 16;   // Anything bigger is treated as corruption
+
+    FileChannel channel;    // Journal file
+    boolean fsync;          // false = skip fsync (faster, but the OS may lose the tail on power loss)
+
+    ByteBuffer pending = ByteBuffer.allocate(1 << 16);  // Records waiting to be written
+    ByteBuffer writing = ByteBuffer.allocate(1 << 16);  // Batch the flusher is writing now
+    long journalId;         // Random id written in the header; snapshots remember it
+    long appended;          // Number of records handed to the journal
+    long appendedEnd;       // File offset just past the last record handed to the journal
+    long durable;           // Number of records safely on disk
+    IOException failure;    // Set if writing ever fails; every later caller sees it
+    boolean closed;
+    Thread flusher;         // Background thread doing the group commits
+
+    /* -------- OPEN THE JOURNAL FILE -------- */
+    BookingJournal(Path path, boolean fsync) throws IOException {
+        this.fsync = fsync;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() == 0) {
+            // New file: write the header
+            journalId = new SecureRandom().nextLong();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(journalId);
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        } else {
+            // Existing file: make sure it is one of ours
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                channel.close();
+                throw new IOException("Not a booking journal (or unsupported version): " + path);
+            }
+            journalId = header.getLong();
+        }
+        appendedEnd = channel.size();
+        channel.position(appendedEnd);
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /* ===================== APPENDING RECORDS ===================== */
+    // Each append returns a ticket; pass it to awaitDurable() to wait
+    // until that record (and everything before it) is on disk.
+
+    synchronized long appendFlightAdded(Flight f) {
+        int start = begin(FLIGHT_ADDED, 32 + maxBytes(f.flightNo) + maxBytes(f.source) + maxBytes(f.destination));
+        putString(f.flightNo);
+        putString(f.source);
+        putString(f.destination);
+        pending.putInt(f.type);
+        pending.putInt(f.time);
+        pending.putInt(f.duration);
+        pending.putInt(f.totalSeats);
+        pending.putDouble(f.fare);
+        return end(start);
+    }
+
+    // Money fields (amount, payment method, discount, time) let the revenue
+    // ledger be rebuilt from these records alone
+    synchronized long appendBooked(Flight f, Passenger p, double discount, long at) {
+        return putBooked(f, p, discount, at);
+    }
+
+    // A whole group in one go: the records are queued back to back under
+    // one lock, and the returned ticket covers all of them
+    synchronized long appendBookedBatch(Flight f, Passenger[] group, double[] discounts, long at) {
+        // Every record must fit before any is queued: a group is never half journaled
+        for (Passenger p : group) checkSize(bookedSize(f, p));
+        long ticket = appended;
+        for (int i = 0; i < group.length; i++) ticket = putBooked(f, group[i], discounts[i], at);
+        return ticket;
+    }
+
+    long putBooked(Flight f, Passenger p, double discount, long at) {
+        int start = begin(BOOKED, bookedSize(f, p));
+        pending.putLong(p.bookingId);
+        putString(f.flightNo);
+        putString(p.name);
+        pending.putInt(p.age);
+        pending.putInt(p.seatNo());        // 0 = overbooked onto the waitlist
+        pending.putDouble(p.paidAmount);
+        pending.put(p.payMethod);
+        pending.putDouble(discount);
+        pending.putLong(at);
+        pending.put((byte) p.wantedType());   // Seat type a waitlisted passenger asked for
+        return end(start);
+    }
+
+    // Largest body a BOOKED record for this passenger can have
+    static int bookedSize(Flight f, Passenger p) {
+        return 48 + maxBytes(f.flightNo) + maxBytes(p.name);
+    }
+
+    synchronized long appendCancelled(Flight f, Passenger p, long at) {
+        int start = begin(CANCELLED, 24 + maxBytes(f.flightNo));
+        pending.putLong(p.bookingId);
+        putString(f.flightNo);
+        pending.putDouble(p.paidAmount);   // Refunded in full
+        pending.putLong(at);
+        return end(start);
+    }
+
+    // A waitlisted passenger got the seat someone else gave up
+    synchronized long appendSeated(Flight f, Passenger p, long at) {
+        int start = begin(SEATED, 24 + maxBytes(f.flightNo));
+        pending.putLong(p.bookingId);
+        putString(f.flightNo);
+        pending.putInt(p.seatNo());
+        pending.putLong(at);
+        return end(start);
+    }
+
+    // Starts a record: reserves room for length + crc and writes the type byte
+    int begin(byte type, int maxBody) {
+        if (failure != null) throw new UncheckedIOException("Journal write failed earlier", failure);
+        if (closed) throw new IllegalStateException("Journal is closed");
+        checkSize(maxBody);
+
+        ensureRoom(8 + 1 + maxBody);
+        int start = pending.position();
+        pending.position(start + 8);  // Length and crc are filled in by end()
+        pending.put(type);
+        return start;
+    }
+
+    static void checkSize(int maxBody) {
+        if (maxBody + 1 > MAX_RECORD) throw new IllegalArgumentException("Journal record too large");
+    }
+
+    // Finishes a record: fills in length and crc, then wakes the flusher
+    long end(int start) {
+        int length = pending.position() - start - 8;
+        CRC32 crc = new CRC32();
+        crc.update(pending.array(), start + 8, length);
+        pending.putInt(start, length);
+        pending.putInt(start + 4, (int) crc.getValue());
+
+        appended++;
+        appendedEnd += 8 + length;
+        notifyAll();
+        return appended;
+    }
+
+    // Ticket of the newest record (wait on it to flush everything so far)
+    synchronized long lastTicket() {
+        return appended;
+    }
+
+    // File offset where the next record will start. Anything appended
+    // before this call lies before it in the file.
+    synchronized long appendedEnd() {
+        return appendedEnd;
+    }
+
+    // Grows the pending buffer if the next record might not fit
+    void ensureRoom(int bytes) {
+        if (pending.remaining() >= bytes) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        bigger.put(pending);
+        pending = bigger;
+    }
+
+    // Worst-case UTF-8 size of a string field (2-byte length + 3 bytes per char)
+    static int maxBytes(String s) {
+        return 2 + 3 * s.length();
+    }
+
+    void putString(String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        pending.putShort((short) b.length);
+        pending.put(b);
+    }
+
+    static String getString(ByteBuffer buf) {
+        byte[] b = new byte[buf.getShort() & 0xFFFF];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    static void skipString(ByteBuffer buf) {
+        int length = buf.getShort() & 0xFFFF;
+        buf.position(buf.position() + length);
+    }
+
+    /* ===================== GROUP COMMIT ===================== */
+
+    // Blocks until the record with this ticket is on disk
+    synchronized void awaitDurable(long ticket) {
+        boolean interrupted = false;
+        while (durable < ticket && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;  // Keep waiting: the caller needs to know the outcome
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        if (durable < ticket) throw new UncheckedIOException("Journal write failed", failure);
+    }
+
+    // Background loop: write everything pending, fsync once, repeat
+    void flushLoop() {
+        try {
+            while (true) {
+                long batchEnd;
+                synchronized (this) {
+                    while (pending.position() == 0 && !closed) wait();
+                    if (pending.position() == 0) return;  // Closed and fully drained
+
+                    // Swap buffers so bookers can keep appending while we write
+                    ByteBuffer full = pending;
+                    pending = writing;
+                    writing = full;
+                    batchEnd = appended;
+                }
+
+                writing.flip();
+                while (writing.hasRemaining()) channel.write(writing);
+                if (fsync) channel.force(false);
+                writing.clear();
+
+                synchronized (this) {
+                    durable = batchEnd;
+                    notifyAll();  // Wake every booker whose record was in this batch
+                }
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ===================== REPLAY AT STARTUP ===================== */
+    // Re-applies every record to the service and returns how many were read.
+    // A half-written record at the end (crash during write) is cut off.
+    long replay(BookingService service) throws IOException {
+        return replay(service, HEADER_SIZE);
+    }
+
+    // Same, but starts at file offset `from` (the tail after a snapshot)
+    long replay(BookingService service, long from) throws IOException {
+        long[] count = { 0 };
+        long validEnd = scan(from, (record, offset) -> {
+            apply(record, offset, service);
+            count[0]++;
+        });
+
+        // Drop anything after the last good record so new records follow valid data
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        synchronized (this) {
+            appendedEnd = validEnd;
+        }
+        return count[0];
+    }
+
+    // Reads every good record from file offset `from` on and hands its body
+    // (and file offset) to `handler`. Stops at the end of the file or the
+    // first damaged record, and returns the offset just past the last good one.
+    long scan(long from, ObjLongConsumer<ByteBuffer> handler) throws IOException {
+        if (from < HEADER_SIZE || from > channel.size()) {
+            throw new IOException("Replay offset " + from + " is outside the journal");
+        }
+        ByteBuffer buf = ByteBuffer.allocate(1 << 20);
+        long filePos = from;          // Where buf's first byte sits in the file
+        long validEnd = from;         // End of the last good record
+        CRC32 crc = new CRC32();
+
+        while (true) {
+            int n = channel.read(buf, filePos + buf.position());
+            buf.flip();
+
+            // Apply every complete record in the buffer
+            while (buf.remaining() >= 8) {
+                int length = buf.getInt(buf.position());
+                if (length < 1 || length > MAX_RECORD) { n = -1; buf.limit(buf.position()); break; }  // Garbage
+                if (buf.remaining() < 8 + length) break;  // Need more bytes
+
+                int body = buf.position() + 8;
+                crc.reset();
+                crc.update(buf.array(), body, length);
+                if ((int) crc.getValue() != buf.getInt(buf.position() + 4)) { n = -1; buf.limit(buf.position()); break; }
+
+                ByteBuffer record = buf.duplicate();
+                record.position(body).limit(body + length);
+                handler.accept(record, filePos + buf.position());
+
+                buf.position(body + length);
+                validEnd = filePos + buf.position();
+            }
+
+            if (n < 0) break;  // End of file (or corruption)
+
+            // Move the unread tail to the front and read more after it
+            filePos += buf.position();
+            buf.compact();
+        }
+        return validEnd;
+    }
+
+    // Applies one record body (found at file offset `offset`) to the service
+    static void apply(ByteBuffer r, long offset, BookingService service) {
+        byte type = r.get();
+        if (type == FLIGHT_ADDED) {
+            String flightNo = getString(r);
+            String source = getString(r);
+            String destination = getString(r);
+            int flightType = r.getInt();
+            int time = r.getInt();
+            int duration = r.getInt();
+            int seats = r.getInt();
+            double fare = r.getDouble();
+            service.restoreFlight(new Flight(flightNo, source, destination, flightType, time, duration, seats, fare));
+        } else if (type == BOOKED) {
+            long bookingId = r.getLong();
+            String flightNo = getString(r);
+            String name = getString(r);
+            int age = r.getInt();
+            int seatNo = r.getInt();
+            double paid = r.getDouble();
+            int payMethod = r.get();
+            double discount = r.getDouble();
+            long at = r.getLong();
+            int wanted = r.get();                           // Seat type asked for (used while waitlisted)
+            service.restoreBooking(offset, bookingId, flightNo, name, age, seatNo, paid, payMethod,
+                    discount, at, wanted);
+        } else if (type == CANCELLED) {
+            long bookingId = r.getLong();
+            skipString(r);
+            r.getDouble();                                  // Refund (always the amount paid)
+            service.restoreCancel(offset, bookingId, r.getLong());
+        } else if (type == SEATED) {
+            long bookingId = r.getLong();
+            skipString(r);
+            service.restoreSeated(offset, bookingId, r.getInt());
+        }
+    }
+
+    /* ===================== SHUTDOWN ===================== */
+    // Writes out anything still pending, then closes the file
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.force(true);
+        channel.close();
+    }
+}
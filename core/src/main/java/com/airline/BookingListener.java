@@ -0,0 +1,16 @@
+package com.airline;
+
+/* =========================================================
+                  BOOKING LISTENER INTERFACE
+   Told about every booking and cancellation as it happens.
+   Called while the flight's lock is held, in the same order
+   the changes reach the journal, so keep it quick.
+   ========================================================= */
+interface BookingListener {
+
+    // A seat was sold; `discount` is how much less than the regular fare was charged
+    void booked(Flight f, Passenger p, double discount, long at);
+
+    // A booking was cancelled and its amount refunded
+    void cancelled(Flight f, Passenger p, long at);
+}
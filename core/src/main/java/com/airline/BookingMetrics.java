@@ -0,0 +1,101 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Import lock-free counters
+import java.util.concurrent.atomic.LongAdder;
+
+/* =========================================================
+                    BOOKING METRICS CLASS
+   Counters and latency histograms for the booking hot paths.
+   Everything is lock-free (LongAdder / atomic arrays), so
+   recording costs nanoseconds and never blocks a booking.
+   report() turns it all into a text snapshot.
+   ========================================================= */
+class BookingMetrics {
+
+    // Seat allocation outcomes
+    LongAdder preferenceHits = new LongAdder();      // Got the seat type asked for
+    LongAdder preferenceFallbacks = new LongAdder(); // Type was full, got another one
+    LongAdder noPreference = new LongAdder();        // Any seat was fine
+    LongAdder soldOut = new LongAdder();             // Rejected: no seat left
+    LongAdder waitlisted = new LongAdder();          // Flight full: sold onto the waitlist
+    LongAdder promotions = new LongAdder();          // Waitlisted passenger got a freed seat
+
+    // Other outcomes
+    LongAdder lookupMisses = new LongAdder();        // Booking ID not found
+    LongAdder cancelMisses = new LongAdder();        // Cancel of an unknown / already cancelled ID
+
+    // Timings (nanoseconds)
+    LatencyHistogram assignSeat = new LatencyHistogram();  // Seat map search + take (lock held)
+    LatencyHistogram book = new LatencyHistogram();        // Whole booking incl. waiting for the journal
+    LatencyHistogram lookup = new LatencyHistogram();      // Find a booking by ID
+    LatencyHistogram cancel = new LatencyHistogram();      // Whole cancellation incl. the journal
+
+    // Counts how a seat request with preference `pref` was served
+    void seatAssigned(int pref, int seatType) {
+        if (pref < 1 || pref > 3) noPreference.increment();
+        else if (seatType == pref) preferenceHits.increment();
+        else preferenceFallbacks.increment();
+    }
+
+    /* -------- TEXT SNAPSHOT -------- */
+    // All counters and histograms, plus load factor for the fullest flights
+    String report(Collection<Flight> flights, int topFlights) {
+        StringBuilder out = new StringBuilder();
+        out.append("# Seat allocation\n");
+        out.append("preference_hits ").append(preferenceHits.sum()).append('\n');
+        out.append("preference_fallbacks ").append(preferenceFallbacks.sum()).append('\n');
+        out.append("no_preference ").append(noPreference.sum()).append('\n');
+        out.append("sold_out ").append(soldOut.sum()).append('\n');
+        out.append("waitlisted ").append(waitlisted.sum()).append('\n');
+        out.append("promotions ").append(promotions.sum()).append('\n');
+        out.append("lookup_misses ").append(lookupMisses.sum()).append('\n');
+        out.append("cancel_misses ").append(cancelMisses.sum()).append('\n');
+
+        out.append("# Latency\n");
+        out.append("assign_seat ").append(assignSeat.summary()).append('\n');
+        out.append("book ").append(book.summary()).append('\n');
+        out.append("lookup ").append(lookup.summary()).append('\n');
+        out.append("cancel ").append(cancel.summary()).append('\n');
+
+        // Load factor = share of seats sold. Bookings keep changing the
+        // seat counts, so each flight is read exactly once into an array
+        // and everything below uses those fixed values.
+        List<Flight> all = new ArrayList<>(flights);
+        double[] load = new double[all.size()];
+        long seats = 0;
+        long sold = 0;
+        for (int i = 0; i < load.length; i++) {
+            Flight f = all.get(i);
+            int taken = f.totalSeats - f.availableSeats;
+            seats += f.totalSeats;
+            sold += taken;
+            load[i] = f.totalSeats == 0 ? 0 : (double) taken / f.totalSeats;
+        }
+
+        // Keep the fullest `topFlights` in a small heap whose head is the
+        // emptiest of them (ties: the later flight goes first)
+        int top = Math.max(0, Math.min(topFlights, load.length));
+        PriorityQueue<Integer> fullest = new PriorityQueue<>(top + 1,
+                (x, y) -> load[x] != load[y] ? Double.compare(load[x], load[y]) : Integer.compare(y, x));
+        for (int i = 0; i < load.length && top > 0; i++) {
+            fullest.add(i);
+            if (fullest.size() > top) fullest.poll();
+        }
+        int[] order = new int[fullest.size()];
+        for (int i = order.length - 1; i >= 0; i--) order[i] = fullest.poll();
+
+        out.append("# Load factor (").append(all.size()).append(" flights, overall ")
+           .append(String.format("%.1f%%", seats == 0 ? 0.0 : 100.0 * sold / seats)).append(")\n");
+        for (int i : order) {
+            out.append("load_factor{flight=\"").append(all.get(i).flightNo).append("\"} ")
+               .append(String.format("%.3f", load[i])).append('\n');
+        }
+        return out.toString();
+    }
+}
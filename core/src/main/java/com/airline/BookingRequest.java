@@ -0,0 +1,21 @@
+package com.airline;
+
+/* =========================================================
+                    BOOKING REQUEST CLASS
+   One passenger of a group or bulk booking (one CSV line).
+   ========================================================= */
+class BookingRequest {
+    String flightNo;    // Flight to book
+    String name;        // Passenger name
+    int age;            // Passenger age (60+ pays the senior fare)
+    int pref;           // 0.Any 1.Window 2.Middle 3.Aisle
+    int payMethod;      // Passenger.CASH or Passenger.UPI
+
+    BookingRequest(String flightNo, String name, int age, int pref, int payMethod) {
+        this.flightNo = flightNo;
+        this.name = name;
+        this.age = age;
+        this.pref = pref;
+        this.payMethod = payMethod;
+    }
+}
@@ -0,0 +1,579 @@
+package com.airline;
+
+// Import the clock used for time-based pricing
+import java.time.Clock;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/* =========================================================
+                     BOOKING SERVICE CLASS
+   Thread-safe booking API on top of the repository.
+   Every seat change on a flight happens while holding that
+   flight's own lock, so bookings on different flights never
+   wait for each other and a seat can never be sold twice.
+   ========================================================= */
+class BookingService {
+
+    // Where flights and bookings are stored
+    ReservationRepository repo = new ReservationRepository();
+
+    // Departures by origin city, for route search
+    RouteIndex routes = new RouteIndex();
+
+    // All flights in departure-time order, for sorted listings
+    DepartureIndex departures = new DepartureIndex();
+
+    // Column copy of all flights, for analytics scans
+    FlightTable table = new FlightTable();
+
+    // Hands out unique booking IDs across threads and nodes
+    BookingIdGenerator ids;
+
+    // Durable log of every change (null = keep everything in memory only)
+    BookingJournal journal;
+
+    // Time source for prices and booking times
+    Clock clock = Clock.systemDefaultZone();
+
+    // Prices every flight this service knows about
+    PricingEngine pricing = new LoadFactorPricing(clock);
+
+    // Running revenue totals per day, flight and route
+    RevenueLedger revenue = new RevenueLedger(clock.getZone());
+
+    // Told about every booking and cancellation (the revenue ledger first)
+    List<BookingListener> listeners = new CopyOnWriteArrayList<>(List.of(revenue));
+
+    // Hot-path counters and latency histograms
+    BookingMetrics metrics = new BookingMetrics();
+
+    // How long a seat hold lasts, and the wheel that expires holds
+    long holdMillis = 10 * 60_000L;
+    HoldTimerWheel holdWheel = new HoldTimerWheel(() -> clock.millis(),
+            h -> releaseHold(h, SeatHold.EXPIRED));
+
+    // Overbooking: once a flight is full, up to this percentage of its seats
+    // can still be sold; those passengers wait for a seat in this order
+    int overbookPercent = 0;
+    Comparator<Passenger> waitlistOrder = Waitlist.SENIORS_FIRST;
+
+    // Creates an in-memory service whose booking IDs come from the given generator
+    BookingService(BookingIdGenerator ids) {
+        this(ids, null);
+    }
+
+    // Creates a service that also records every change in a journal
+    BookingService(BookingIdGenerator ids, BookingJournal journal) {
+        this.ids = ids;
+        this.journal = journal;
+    }
+
+    // Moves prices, booking times, hold expiry and the revenue days onto
+    // another clock (e.g. a simulated one). Call before adding flights.
+    void useClock(Clock clock) {
+        this.clock = clock;
+        pricing = new LoadFactorPricing(clock);
+        listeners.remove(revenue);
+        revenue = new RevenueLedger(clock.getZone());
+        listeners.add(0, revenue);
+    }
+
+    /* ===================== FLIGHTS ===================== */
+
+    // Adds a flight; returns false if the flight number is already taken
+    boolean addFlight(Flight f) {
+        long ticket;
+        // Hold the new flight's lock until its journal record is queued, so no
+        // booking on it can reach the journal ahead of the flight itself
+        synchronized (f) {
+            f.pricing = pricing;   // Set before the flight becomes visible
+            f.waitlist = new Waitlist(waitlistOrder);
+            ticket = publish(f);
+            if (ticket < 0) return false;
+            routes.add(f);
+            departures.add(f);
+            table.add(f);
+            f.table = table;
+        }
+        if (journal != null) journal.awaitDurable(ticket);
+        return true;
+    }
+
+    // Journals a new flight, then stores it in the repository. The
+    // repository's lock is held across both so nobody can take the number
+    // in between, and a failed append leaves no trace. Caller holds the
+    // flight's lock. Returns the journal ticket (0 = no journal), or -1 if
+    // the number is already taken.
+    long publish(Flight f) {
+        synchronized (repo) {
+            if (repo.findFlight(f.flightNo) != null) return -1;
+            long ticket = journal == null ? 0 : journal.appendFlightAdded(f);
+            repo.addFlight(f);
+            return ticket;
+        }
+    }
+
+    // Adds many flights at once (bulk timetable import) and returns how many
+    // were added; numbers already taken are skipped. Each flight becomes
+    // bookable exactly as in addFlight, but nobody waits for the disk until
+    // all records are queued, so one flush covers the whole timetable. The
+    // listing and route indexes are then filled in one sorted pass.
+    // If a journal append fails partway, that flight is not added, the
+    // flights before it are still indexed and made durable, and the
+    // failure is rethrown.
+    int addFlights(List<Flight> flights) {
+        List<Flight> added = new ArrayList<>(flights.size());
+        long ticket = 0;
+        RuntimeException failure = null;
+        try {
+            for (Flight f : flights) {
+                synchronized (f) {
+                    f.pricing = pricing;
+                    f.waitlist = new Waitlist(waitlistOrder);
+                    long t = publish(f);
+                    if (t < 0) continue;
+                    ticket = t;
+                    table.add(f);
+                    f.table = table;
+                }
+                added.add(f);
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        routes.addAll(added);
+        departures.addAll(added);
+        if (journal != null) {
+            try {
+                journal.awaitDurable(ticket);
+            } catch (RuntimeException e) {
+                if (failure == null) throw e;
+                failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+        return added.size();
+    }
+
+    // Finds a flight by number, or null if there is none
+    Flight findFlight(String flightNo) {
+        return repo.findFlight(flightNo);
+    }
+
+    // All flights in insertion order
+    Collection<Flight> flights() {
+        return repo.flights();
+    }
+
+    /* ===================== BOOK A SEAT ===================== */
+    // Books one seat and returns the new passenger. A full flight that
+    // still has overbooking allowance left puts the passenger on its
+    // waitlist instead (p.isWaitlisted() until a seat is freed).
+    // Returns null if the flight does not exist or is sold out.
+    Passenger book(String flightNo, String name, int age, int pref) {
+        return book(flightNo, name, age, pref, Passenger.CASH);
+    }
+
+    Passenger book(String flightNo, String name, int age, int pref, int payMethod) {
+        long start = System.nanoTime();
+        Flight f = repo.findFlight(flightNo);
+        if (f == null) return null;
+        name = name.intern();   // Before the lock: the string table is shared by every thread
+
+        Passenger p;
+        long ticket;
+        // Only this flight is locked while its seat map changes
+        synchronized (f) {
+            // Charge the price quoted before this seat is taken (senior
+            // citizens get their category discount from the pricing engine)
+            double regularFare = f.currentFare(FareQuote.REGULAR);
+            double finalFare = age >= 60 ? f.currentFare(FareQuote.SENIOR) : regularFare;
+
+            long assignStart = System.nanoTime();
+            int seatNo = f.assignSeat(pref);
+            metrics.assignSeat.recordSince(assignStart);
+            if (seatNo == 0 && f.waitlist.size() >= overbookLimit(f)) {
+                metrics.soldOut.increment();
+                return null;
+            }
+
+            // Generate a unique booking ID (a plain long, no string building here)
+            long bookingId = ids.nextId();
+
+            p = new Passenger(bookingId, name, age, f.id, seatNo, finalFare, payMethod);
+            if (seatNo == 0) p.seat = Passenger.waiting(pref);  // Kept for when a seat is freed
+
+            // Journal first: if the record cannot be queued (too large, or the
+            // journal failed earlier) the seat is given back and nothing else changes
+            long at = clock.millis();
+            try {
+                ticket = journal == null ? 0 : journal.appendBooked(f, p, regularFare - finalFare, at);
+            } catch (RuntimeException e) {
+                if (seatNo != 0) f.cancelSeat(seatNo);
+                throw e;
+            }
+            if (seatNo != 0) metrics.seatAssigned(pref, SeatMap.classOf(seatNo));
+            else metrics.waitlisted.increment();
+
+            repo.addPassenger(p);
+            if (seatNo == 0) f.waitlist.add(p);
+            for (BookingListener l : listeners) l.booked(f, p, regularFare - finalFare, at);
+        }
+
+        // Wait for the record to reach disk outside the lock, so one fsync
+        // can cover the bookings of many threads at once
+        if (journal != null) journal.awaitDurable(ticket);
+        metrics.book.recordSince(start);
+        return p;
+    }
+
+    /* ===================== SEAT HOLDS ===================== */
+    // A hold keeps a seat aside while the customer pays. It is confirmed
+    // into a booking, released, or expires by itself after holdMillis.
+    // Holds are not written to the journal: after a restart they are gone.
+
+    // Holds a seat; returns null if the flight does not exist or is full
+    SeatHold hold(String flightNo, int pref) {
+        Flight f = repo.findFlight(flightNo);
+        if (f == null) return null;
+
+        SeatHold h = f.hold(pref, clock.millis() + holdMillis);
+        if (h == null) {
+            metrics.soldOut.increment();
+            return null;
+        }
+        metrics.seatAssigned(pref, SeatMap.classOf(h.seatNo));
+        holdWheel.schedule(h);
+        return h;
+    }
+
+    // Books the held seat at the fare quoted when it was held.
+    // Returns null if the hold has expired or was already used or released.
+    Passenger confirm(SeatHold h, String name, int age, int payMethod) {
+        Flight f = h.flight;
+        name = name.intern();
+        Passenger p;
+        long ticket;
+        synchronized (f) {
+            long at = clock.millis();
+            if (!f.isHeld(h, at)) return null;
+
+            double finalFare = age >= 60 ? h.seniorFare : h.regularFare;
+            p = new Passenger(ids.nextId(), name, age, f.id, h.seatNo, finalFare, payMethod);
+
+            // Journal before the hold is used up: if the record cannot be
+            // queued the hold stays exactly as it was
+            ticket = journal == null ? 0 : journal.appendBooked(f, p, h.regularFare - finalFare, at);
+            f.confirm(h, at);
+            repo.addPassenger(p);
+            for (BookingListener l : listeners) l.booked(f, p, h.regularFare - finalFare, at);
+        }
+        if (journal != null) journal.awaitDurable(ticket);
+        return p;
+    }
+
+    // Gives a held seat back; false if the hold was no longer active
+    boolean release(SeatHold h) {
+        return releaseHold(h, SeatHold.RELEASED);
+    }
+
+    // Releases (or expires) a hold; its seat goes to the waitlist first
+    boolean releaseHold(SeatHold h, int state) {
+        Flight f = h.flight;
+        long ticket;
+        synchronized (f) {
+            if (!f.release(h, state)) return false;
+            ticket = seatWaitlisted(f, clock.millis());
+        }
+        // The expiry thread does not wait for the disk: the record is
+        // flushed with the next batch either way
+        if (ticket != 0 && state != SeatHold.EXPIRED) journal.awaitDurable(ticket);
+        return true;
+    }
+
+    /* ===================== WAITLIST ===================== */
+
+    // How many passengers a full flight may still take onto its waitlist
+    int overbookLimit(Flight f) {
+        return f.totalSeats * overbookPercent / 100;
+    }
+
+    // Hands a just-freed seat to the first waitlisted passenger, if any.
+    // Caller holds the flight's lock. Returns the journal ticket of the
+    // seat record (0 = nobody seated, or no journal).
+    long seatWaitlisted(Flight f, long at) {
+        Passenger next = f.waitlist.peek();
+        int wanted = next == null ? 0 : next.wantedType();
+        Passenger p = f.seatNextWaitlisted();
+        if (p == null) return 0;
+        long ticket;
+        try {
+            ticket = journal == null ? 0 : journal.appendSeated(f, p, at);
+        } catch (RuntimeException e) {
+            f.unseat(p, wanted);        // Not journaled: back onto the waitlist
+            throw e;
+        }
+        metrics.promotions.increment();
+        return ticket;
+    }
+
+    // Seats on hold are not kept across a restart, so after the snapshot
+    // and journal are loaded a flight can have free seats and a waitlist
+    // at once. Gives those seats to the waitlist now (journaled like any
+    // other promotion) so a new booking cannot take one first.
+    // Returns how many passengers were seated.
+    int seatWaitlistedAfterRestore() {
+        int seated = 0;
+        long ticket = 0;
+        for (Flight f : repo.flights()) {
+            synchronized (f) {
+                while (!f.waitlist.isEmpty() && f.availableSeats > 0) {
+                    ticket = Math.max(ticket, seatWaitlisted(f, clock.millis()));
+                    seated++;
+                }
+            }
+        }
+        if (journal != null) journal.awaitDurable(ticket);
+        return seated;
+    }
+
+    // 1 = next to get a seat; 0 = not waitlisted (seated or cancelled)
+    int waitlistPosition(Passenger p) {
+        Flight f = flightOf(p);
+        synchronized (f) {
+            return f.waitlist.position(p);
+        }
+    }
+
+    /* ===================== GROUP BOOKING ===================== */
+    // Books a whole group on one flight: every seat or none. The flight is
+    // locked once, its seat map walked once, and all records go to the
+    // journal as one batch, so a single disk flush covers the group.
+    // Returns the passengers in request order, or null if the flight does
+    // not exist or the group does not fit (together = consecutive seats).
+    List<Passenger> bookGroup(String flightNo, List<BookingRequest> group, boolean together) {
+        Flight f = repo.findFlight(flightNo);
+        if (f == null || group.isEmpty()) return null;
+
+        int n = group.size();
+        int[] prefs = new int[n];
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            prefs[i] = group.get(i).pref;
+            names[i] = group.get(i).name.intern();
+        }
+
+        Passenger[] booked = new Passenger[n];
+        double[] discounts = new double[n];
+        long ticket;
+        synchronized (f) {
+            // The whole group pays the fares quoted before its seats are taken
+            double regularFare = f.currentFare(FareQuote.REGULAR);
+            double seniorFare = f.currentFare(FareQuote.SENIOR);
+
+            int[] seats = f.assignSeats(prefs, together);
+            if (seats == null) {             // Not enough (consecutive) seats
+                metrics.soldOut.add(n);
+                return null;
+            }
+
+            long at = clock.millis();
+            for (int i = 0; i < n; i++) {
+                BookingRequest r = group.get(i);
+                long bookingId = ids.nextId();
+                booked[i] = new Passenger(bookingId, names[i], r.age, f.id, seats[i],
+                        r.age >= 60 ? seniorFare : regularFare, r.payMethod);
+                discounts[i] = regularFare - booked[i].paidAmount;
+            }
+
+            // Journal first: if the batch cannot be queued every seat is given back
+            try {
+                ticket = journal == null ? 0 : journal.appendBookedBatch(f, booked, discounts, at);
+            } catch (RuntimeException e) {
+                for (int seatNo : seats) f.cancelSeat(seatNo);
+                throw e;
+            }
+            for (int i = 0; i < n; i++) metrics.seatAssigned(together ? 0 : prefs[i], SeatMap.classOf(seats[i]));
+            for (int i = 0; i < n; i++) repo.addPassenger(booked[i]);
+            for (int i = 0; i < n; i++) {
+                for (BookingListener l : listeners) l.booked(f, booked[i], discounts[i], at);
+            }
+        }
+        if (journal != null) journal.awaitDurable(ticket);
+        return Arrays.asList(booked);
+    }
+
+    // Books requests for any number of flights: one group per flight, each
+    // all or nothing. Maps flight number to its passengers (null = not booked).
+    Map<String, List<Passenger>> bookBatch(List<BookingRequest> requests, boolean together) {
+        Map<String, List<BookingRequest>> groups = new LinkedHashMap<>();
+        for (BookingRequest r : requests) {
+            groups.computeIfAbsent(ReservationRepository.key(r.flightNo), k -> new ArrayList<>()).add(r);
+        }
+        Map<String, List<Passenger>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<BookingRequest>> g : groups.entrySet()) {
+            result.put(g.getKey(), bookGroup(g.getKey(), g.getValue(), together));
+        }
+        return result;
+    }
+
+    /* ===================== CANCEL A BOOKING ===================== */
+    // Cancels a booking and frees its seat, which goes straight to the
+    // first waitlisted passenger if there is one.
+    // Returns the cancelled passenger, or null if the ID is unknown.
+    Passenger cancel(String bookingId) {
+        return cancel(BookingIds.parse(bookingId));
+    }
+
+    Passenger cancel(long bookingId) {
+        long start = System.nanoTime();
+        Passenger p = repo.findPassenger(bookingId);
+        if (p == null) {
+            metrics.cancelMisses.increment();
+            return null;
+        }
+
+        Flight f = flightOf(p);
+        long ticket;
+        synchronized (f) {
+            // Another thread may have cancelled it first; only the first one
+            // gets past this (removals only happen under the flight's lock)
+            if (repo.findPassenger(bookingId) != p) {
+                metrics.cancelMisses.increment();
+                return null;
+            }
+
+            // Journal first: if the record cannot be queued the booking stays
+            long at = clock.millis();
+            ticket = journal == null ? 0 : journal.appendCancelled(f, p, at);
+            repo.removePassenger(bookingId);
+            boolean hadSeat = !p.isWaitlisted();
+            if (hadSeat) f.cancelSeat(p.seatNo());
+            else f.waitlist.remove(p);            // Was still waiting: no seat to free
+            for (BookingListener l : listeners) l.cancelled(f, p, at);
+            if (hadSeat) ticket = Math.max(ticket, seatWaitlisted(f, at));
+        }
+        if (journal != null) journal.awaitDurable(ticket);
+        metrics.cancel.recordSince(start);
+        return p;
+    }
+
+    /* ===================== JOURNAL REPLAY ===================== */
+    // These re-apply journal records at startup. They do not write
+    // to the journal again. `offset` is where the record sits in the
+    // journal; records a snapshot already covers (offset < the flight's
+    // replayFrom) are skipped. Bookings and cancellations also go into
+    // the revenue ledger, on top of the totals the snapshot saved.
+
+    void restoreFlight(Flight f) {
+        // Already known from the snapshot: ignored
+        f.pricing = pricing;
+        f.waitlist = new Waitlist(waitlistOrder);
+        if (repo.addFlight(f)) {
+            routes.add(f);
+            departures.add(f);
+            table.add(f);
+            f.table = table;
+        }
+    }
+
+    void restoreBooking(long offset, long bookingId, String flightNo, String name, int age,
+                        int seatNo, double paidAmount, int payMethod, double discount, long at, int wanted) {
+        Flight f = repo.findFlight(flightNo);
+        if (f == null || offset < f.replayFrom) return;
+
+        // Seat 0 = booked onto the waitlist
+        if (seatNo != 0 && !f.takeSeat(seatNo)) return;  // Ignore records that no longer fit
+        Passenger p = new Passenger(bookingId, name.intern(), age, f.id, seatNo, paidAmount, payMethod);
+        if (seatNo == 0) p.seat = Passenger.waiting(wanted);
+        repo.addPassenger(p);
+        if (seatNo == 0) f.waitlist.add(p);
+        revenue.booked(f, p, discount, at);
+    }
+
+    void restoreCancel(long offset, long bookingId, long at) {
+        Passenger p = repo.findPassenger(bookingId);
+        if (p == null) return;  // Never booked, or already gone in the snapshot
+
+        Flight f = flightOf(p);
+        if (offset < f.replayFrom) return;
+        repo.removePassenger(bookingId);
+        if (p.isWaitlisted()) f.waitlist.remove(p);
+        else f.cancelSeat(p.seatNo());
+        revenue.cancelled(f, p, at);
+    }
+
+    // The freed seat is given exactly as it was at the time (a separate
+    // SEATED record follows the cancellation that freed it)
+    void restoreSeated(long offset, long bookingId, int seatNo) {
+        Passenger p = repo.findPassenger(bookingId);
+        if (p == null || !p.isWaitlisted()) return;
+
+        Flight f = flightOf(p);
+        if (offset < f.replayFrom || !f.takeSeat(seatNo)) return;
+        f.waitlist.remove(p);
+        p.seat = Passenger.packSeat(seatNo);
+    }
+
+    // All flights, earliest departure first
+    Collection<Flight> flightsByTime() {
+        return departures.sorted();
+    }
+
+    // Flights leaving between two HHMM times; type 0 = any
+    Collection<Flight> departuresBetween(int from, int to, int type) {
+        return departures.between(from, to, type);
+    }
+
+    /* ===================== ROUTE SEARCH ===================== */
+    // Direct and connecting itineraries from one city to another,
+    // leaving at or after `after` (HHMM), earliest arrival first
+    List<Itinerary> searchRoutes(String from, String to, int after, int maxStops, int limit) {
+        return new RouteSearch(routes).find(from, to, after, maxStops, RouteSearch.MIN_CONNECTION, limit);
+    }
+
+    /* ===================== LOOKUPS ===================== */
+
+    // Finds a booking by ID, or null if there is none
+    Passenger findBooking(String bookingId) {
+        return findBooking(BookingIds.parse(bookingId));
+    }
+
+    Passenger findBooking(long bookingId) {
+        long start = System.nanoTime();
+        Passenger p = repo.findPassenger(bookingId);
+        metrics.lookup.recordSince(start);
+        if (p == null) metrics.lookupMisses.increment();
+        return p;
+    }
+
+    // Flight a passenger booked
+    Flight flightOf(Passenger p) {
+        return repo.flight(p.flightId);
+    }
+
+    // Text snapshot of the booking metrics (load factor of the 20 fullest flights)
+    String metricsReport() {
+        return metrics.report(repo.flights(), 20);
+    }
+
+    // Copy of the passengers booked on a flight (empty if none or no such flight)
+    List<Passenger> manifest(String flightNo) {
+        Flight f = repo.findFlight(flightNo);
+        if (f == null) return List.of();
+
+        synchronized (f) {
+            return new ArrayList<>(repo.passengersOn(flightNo));
+        }
+    }
+}
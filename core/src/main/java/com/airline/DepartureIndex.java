@@ -0,0 +1,85 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/* =========================================================
+                    DEPARTURE INDEX CLASS
+   All flights kept in departure-time order, updated as each
+   flight is added, so sorted listings and "departures between
+   06:00 and 10:00" are a walk over a skip list instead of a
+   sort. Ties on time are ordered by flight number.
+   ========================================================= */
+class DepartureIndex {
+
+    // (time, flightNo) -> Flight, for all flights and per type (index 1 = Domestic, 2 = International)
+    ConcurrentSkipListMap<Key, Flight> all = new ConcurrentSkipListMap<>();
+    List<ConcurrentSkipListMap<Key, Flight>> byType = List.of(
+            new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+
+    /* -------- SORT KEY -------- */
+    static class Key implements Comparable<Key> {
+        int time;           // HHMM
+        String flightNo;    // Normalized flight number
+
+        Key(int time, String flightNo) {
+            this.time = time;
+            this.flightNo = flightNo;
+        }
+
+        public int compareTo(Key o) {
+            int c = Integer.compare(time, o.time);
+            return c != 0 ? c : flightNo.compareTo(o.flightNo);
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        public int hashCode() {
+            return time * 31 + flightNo.hashCode();
+        }
+    }
+
+    void add(Flight f) {
+        Key k = new Key(f.time, ReservationRepository.key(f.flightNo));
+        all.put(k, f);
+        if (f.type == 1 || f.type == 2) byType.get(f.type).put(k, f);
+    }
+
+    // Adds many flights: sorted first, so each insert lands right after
+    // the previous one instead of at a random place in the skip list
+    void addAll(List<Flight> flights) {
+        List<Map.Entry<Key, Flight>> sorted = new ArrayList<>(flights.size());
+        for (Flight f : flights) {
+            sorted.add(new AbstractMap.SimpleEntry<>(new Key(f.time, ReservationRepository.key(f.flightNo)), f));
+        }
+        sorted.sort(Map.Entry.comparingByKey());
+        for (Map.Entry<Key, Flight> e : sorted) {
+            Flight f = e.getValue();
+            all.put(e.getKey(), f);
+            if (f.type == 1 || f.type == 2) byType.get(f.type).put(e.getKey(), f);
+        }
+    }
+
+    // Every flight, earliest departure first
+    Collection<Flight> sorted() {
+        return all.values();
+    }
+
+    // Flights leaving between two HHMM times (both included), earliest first.
+    // type 0 = any type, 1 = Domestic, 2 = International.
+    Collection<Flight> between(int from, int to, int type) {
+        ConcurrentSkipListMap<Key, Flight> map = type == 0 ? all : byType.get(type);
+        if (from > to) return List.of();
+        // "" sorts before and "\uffff" after every flight number at the same time
+        return map.subMap(new Key(from, ""), true, new Key(to, "\uffff"), true).values();
+    }
+}
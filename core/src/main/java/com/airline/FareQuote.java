@@ -0,0 +1,35 @@
+package com.airline;
+
+/* =========================================================
+                       FARE QUOTE CLASS
+   One flight's prices, frozen for a range of free-seat counts
+   and until a point in time. Never changed after it is built,
+   so any thread can read it without a lock.
+   ========================================================= */
+class FareQuote {
+
+    // Passenger categories (index into fares)
+    static final int REGULAR = 0;
+    static final int SENIOR = 1;
+
+    final double[] fares;    // Price per category, in rupees
+    final int minSeats;      // Quote holds while minSeats <= availableSeats <= maxSeats
+    final int maxSeats;
+    final long validUntil;   // Engine clock millis when the time bucket changes
+
+    FareQuote(double[] fares, int minSeats, int maxSeats, long validUntil) {
+        this.fares = fares;
+        this.minSeats = minSeats;
+        this.maxSeats = maxSeats;
+        this.validUntil = validUntil;
+    }
+
+    // True while the free-seat count stays inside this quote's load bucket
+    boolean covers(int availableSeats) {
+        return availableSeats >= minSeats && availableSeats <= maxSeats;
+    }
+
+    double fare(int category) {
+        return fares[category];
+    }
+}
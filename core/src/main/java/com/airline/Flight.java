@@ -0,0 +1,283 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.HashMap;
+import java.util.Map;
+
+/* =========================================================
+                        FLIGHT CLASS
+   Represents an airplane flight with all its details
+   ========================================================= */
+class Flight {
+
+    static final int MAX_SEATS = 16383;  // Seat numbers must fit in Passenger.seat
+    static final int MAX_TEXT = 100;     // Longest flight number or city name (must fit a journal record)
+
+    // Flight information variables
+    String flightNo;        // Unique identifier like "AI101"
+    String source;          // Departure city
+    String destination;     // Arrival city
+    int type;               // 1 = Domestic, 2 = International
+    int time;               // Departure time in HHMM format (like 930 for 9:30 AM)
+    int duration;           // Flying time in minutes (arrival = time + duration)
+    int totalSeats;         // Total seats available on the flight
+    volatile int availableSeats; // Currently available seats (changed under the flight's lock)
+    double fare;            // Base ticket price in rupees (before pricing rules)
+    SeatMap seats;          // Bitset per seat class tracking "Free" / "Booked"
+    long replayFrom;        // Journal offset this flight's snapshot covers (0 = none)
+    int id;                 // Internal number handed out by the repository (0, 1, 2...)
+    PricingEngine pricing;  // Prices this flight (null = always the base fare)
+    volatile FareQuote quote; // Cached prices, rebuilt only when they stop being valid
+    Map<Integer, SeatHold> holds = new HashMap<>(); // Seats on hold by seat number (flight's lock)
+    FlightTable table;      // Column copy kept in step with this flight (null = none)
+    Waitlist waitlist = new Waitlist(Waitlist.SENIORS_FIRST); // Overbooked passengers without a seat (flight's lock)
+    volatile byte[] card;   // Display text of the fields that never change (built on first display)
+    Manifest manifest = new Manifest(); // Passengers booked (kept by the repository, flight's lock)
+
+    /* -------- FLIGHT CONSTRUCTOR -------- */
+    // Creates a new flight with initial values
+    Flight(String flightNo, String source, String destination,
+           int type, int time, int duration, int seats, double fare) {
+        this.flightNo = flightNo;
+        this.source = source;
+        this.destination = destination;
+        this.type = type;
+        this.time = time;
+        this.duration = duration;
+        this.totalSeats = seats;
+        this.availableSeats = seats;  // Initially all seats are available
+        this.fare = fare;
+        
+        // All seats start out "Free"
+        this.seats = new SeatMap(seats);
+    }
+
+    /* -------- TIME FORMAT CONVERTER -------- */
+    // Converts 24-hour time (HHMM) to 12-hour format with AM/PM
+    String getFormattedTime() {
+        return formatTime(time);
+    }
+
+    // Same conversion for any HHMM value (e.g. an arrival time)
+    static String formatTime(int time) {
+        int hour = time / 100;     // Extract hours (930/100 = 9)
+        int min = time % 100;      // Extract minutes (930%100 = 30)
+        
+        // Determine AM or PM
+        String period = (hour >= 12) ? "PM" : "AM";
+        
+        // Convert 24-hour to 12-hour format
+        if (hour > 12) hour -= 12;  // 13 becomes 1, 14 becomes 2, etc.
+        if (hour == 0) hour = 12;   // 00:00 becomes 12:00 AM
+        
+        // Return formatted time like "09:30 AM"
+        char[] text = { (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':',
+                        (char) ('0' + min / 10), (char) ('0' + min % 10), ' ', period.charAt(0), 'M' };
+        return new String(text);
+    }
+
+    /* -------- MINUTES SINCE MIDNIGHT -------- */
+    // 930 (09:30) -> 570, handy for adding flying and connection times
+    int departureMinute() {
+        return (time / 100) * 60 + time % 100;
+    }
+
+    /* -------- CURRENT FARE -------- */
+    // Price for a passenger category right now. Normally just reads the
+    // cached quote; the pricing rules only run once it has expired.
+    double currentFare(int category) {
+        if (pricing == null) return fare;
+        FareQuote q = quote;
+        if (q == null || !q.covers(availableSeats) || pricing.millis() >= q.validUntil) {
+            q = reprice();
+        }
+        return q.fare(category);
+    }
+
+    // Rebuilds the quote. Runs under the flight's lock so a reader whose
+    // time bucket ran out cannot overwrite a newer quote from a booking.
+    synchronized FareQuote reprice() {
+        FareQuote q = pricing.quote(this);
+        quote = q;
+        return q;
+    }
+
+    // Called after every seat change (lock held): updates the column copy,
+    // and only re-prices when the free-seat count has left the current load bucket
+    void seatsChanged() {
+        if (table != null) table.setAvailable(id, availableSeats);
+        FareQuote q = quote;
+        if (q != null && !q.covers(availableSeats)) reprice();
+    }
+
+    /* -------- DISPLAY FLIGHT DETAILS -------- */
+    // Shows all information about this flight
+    void displayFlight() {
+        ListingWriter out = new ListingWriter(System.out);
+        render(out);
+        out.flush();
+    }
+
+    static final byte[] SEATS_LABEL = ListingWriter.encode(System.lineSeparator() + "Seats    : ");
+    static final byte[] SLASH = ListingWriter.encode("/");
+    static final byte[] WAITLIST_LABEL = ListingWriter.encode("Waitlist : ");
+
+    // Adds this flight's details to a listing. The lines that never change
+    // are encoded once and kept in `card`; only fare and seats are live.
+    void render(ListingWriter out) {
+        byte[] c = card;
+        if (c == null) {
+            String n = System.lineSeparator();
+            card = c = ListingWriter.encode("--------------------------------" + n
+                    + "Flight No : " + flightNo + n
+                    + "Route    : " + source + " -> " + destination + n
+                    + "Type     : " + (type == 1 ? "Domestic" : "International") + n
+                    + "Time     : " + getFormattedTime() + n
+                    + "Duration : " + duration / 60 + "h " + duration % 60 + "m" + n
+                    + "Fare     : ₹");
+        }
+        out.bytes(c).amount(currentFare(FareQuote.REGULAR))
+           .bytes(SEATS_LABEL).number(availableSeats).bytes(SLASH).number(totalSeats).newline();
+        if (!waitlist.isEmpty()) out.bytes(WAITLIST_LABEL).number(waitlist.size()).newline();
+        out.endRecord();
+    }
+
+    /* -------- ASSIGN SEAT TO PASSENGER -------- */
+    // Finds and assigns a seat based on passenger preference.
+    // Returns the seat number, or 0 if the flight is full.
+    synchronized int assignSeat(int pref) {
+        int seatNo = pickSeat(pref);
+        if (seatNo == -1) return 0;  // No seats available
+
+        availableSeats--;            // Reduce available seats count
+        seatsChanged();
+        return seatNo;
+    }
+
+    // Takes the best free seat for a preference and returns its number (-1 = full)
+    int pickSeat(int pref) {
+        // Try to find preferred seat type first (1=Window, 2=Middle, 3=Aisle).
+        // With no preference (0) the lowest free seat of any type is taken.
+        int seatNo = (pref >= 1 && pref <= 3) ? seats.firstFree(pref) : -1;
+        
+        // If preferred seat not available, find any free seat
+        if (seatNo == -1) seatNo = seats.firstFreeAny();
+
+        if (seatNo != -1) seats.take(seatNo);  // Mark as booked
+        return seatNo;
+    }
+
+    /* -------- ASSIGN SEATS TO A GROUP -------- */
+    // All or nothing: one seat number per preference, or null if the group does
+    // not fit. With `together` the group gets consecutive seat numbers
+    // (preferences are then ignored).
+    synchronized int[] assignSeats(int[] prefs, boolean together) {
+        int n = prefs.length;
+        if (n == 0 || n > availableSeats) return null;
+
+        int[] result = new int[n];
+        if (together) {
+            int first = seats.firstFreeRun(n);
+            if (first == -1) return null;
+            for (int i = 0; i < n; i++) {
+                seats.take(first + i);
+                result[i] = first + i;
+            }
+        } else {
+            // Cannot run out: we checked there are at least n free seats
+            for (int i = 0; i < n; i++) {
+                result[i] = pickSeat(prefs[i]);
+            }
+        }
+
+        availableSeats -= n;
+        seatsChanged();              // One re-price check for the whole group
+        return result;
+    }
+
+    /* -------- HOLD A SEAT -------- */
+    // Takes a seat like assignSeat, but only until `expiresAt` unless it is
+    // confirmed first. The current fares are frozen into the hold.
+    // Returns null if the flight is full.
+    synchronized SeatHold hold(int pref, long expiresAt) {
+        double regularFare = currentFare(FareQuote.REGULAR);
+        double seniorFare = currentFare(FareQuote.SENIOR);
+
+        int seatNo = pickSeat(pref);
+        if (seatNo == -1) return null;
+        availableSeats--;
+        seatsChanged();
+
+        SeatHold h = new SeatHold(this, seatNo, expiresAt, regularFare, seniorFare);
+        holds.put(seatNo, h);
+        return h;
+    }
+
+    // True while a hold can still be confirmed: not confirmed, released or
+    // expired (even if the expiry has not been swept up yet)
+    synchronized boolean isHeld(SeatHold h, long now) {
+        return holds.get(h.seatNo) == h && now < h.expiresAt;
+    }
+
+    // Turns a hold into a booked seat and returns its number. Returns 0 if the
+    // hold is no longer active (see isHeld).
+    synchronized int confirm(SeatHold h, long now) {
+        if (!isHeld(h, now)) return 0;
+        holds.remove(h.seatNo);
+        h.state = SeatHold.CONFIRMED;
+        return h.seatNo;
+    }
+
+    // Gives a held seat back. `state` is RELEASED or EXPIRED.
+    // Returns false if the hold was no longer active.
+    synchronized boolean release(SeatHold h, int state) {
+        if (holds.get(h.seatNo) != h) return false;
+        holds.remove(h.seatNo);
+        h.state = state;
+        seats.release(h.seatNo);
+        availableSeats++;
+        seatsChanged();
+        return true;
+    }
+
+    /* -------- CANCEL A SEAT -------- */
+    // Frees up a previously booked seat
+    synchronized void cancelSeat(int seatNo) {
+        // Only a valid, currently booked seat can be freed
+        if (seats.release(seatNo)) {
+            availableSeats++;        // Increase available seats count
+            seatsChanged();
+        }
+    }
+
+    /* -------- SEAT THE NEXT WAITLISTED PASSENGER -------- */
+    // Gives a free seat to the first passenger on the waitlist, of the
+    // type they asked for if one is free. Called right after a seat is
+    // freed (or after a restart, when seats that were on hold come back).
+    // Returns the passenger seated, or null if nobody was waiting.
+    synchronized Passenger seatNextWaitlisted() {
+        if (waitlist.isEmpty() || availableSeats <= 0) return null;
+        Passenger p = waitlist.poll();
+        p.seat = Passenger.packSeat(assignSeat(p.wantedType()));
+        return p;
+    }
+
+    // Undoes seatNextWaitlisted when its journal record could not be
+    // written: the passenger waits again and the seat is free again
+    synchronized void unseat(Passenger p, int wanted) {
+        int seatNo = p.seatNo();
+        p.seat = Passenger.waiting(wanted);
+        waitlist.add(p);
+        cancelSeat(seatNo);
+    }
+
+    /* -------- TAKE A SPECIFIC SEAT -------- */
+    // Books exactly seatNo (used when rebuilding bookings from the journal).
+    // Returns false if the seat does not exist or is already booked.
+    synchronized boolean takeSeat(int seatNo) {
+        if (!seats.take(seatNo)) return false;
+        availableSeats--;
+        seatsChanged();
+        return true;
+    }
+}
@@ -0,0 +1,240 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Import parallel streams for the scans
+import java.util.stream.IntStream;
+
+/* =========================================================
+                      FLIGHT TABLE CLASS
+   Column copy of every flight for analytics scans: one plain
+   array per field (time, type, fare, free seats...) instead of
+   one object per flight, and cities/routes as small int ids.
+   A scan then walks a few arrays from start to end, which the
+   CPU streams from memory and the JIT can vectorize, and the
+   chunks are scanned in parallel.
+
+   Row number = Flight.id. Rows live in chunks of CHUNK rows so
+   the table can grow without copying. Rows are written under
+   the flight's lock (adds and seat changes); scans read without
+   locks and see each value as of some recent moment.
+   ========================================================= */
+class FlightTable {
+
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK = 1 << CHUNK_BITS;       // 65536 rows per chunk
+
+    /* -------- ONE CHUNK OF ROWS -------- */
+    static class Chunk {
+        int[] time = new int[CHUNK];        // Departure HHMM
+        byte[] type = new byte[CHUNK];      // 1 = Domestic, 2 = International, 0 = empty row
+        double[] fare = new double[CHUNK];  // Base fare
+        int[] available = new int[CHUNK];   // Free seats
+        int[] total = new int[CHUNK];       // Total seats
+        int[] route = new int[CHUNK];       // Route id (see routeSource / routeDestination)
+        Flight[] flight = new Flight[CHUNK]; // Only used to hand matching flights back
+    }
+
+    volatile Chunk[] chunks = new Chunk[0];
+    volatile int size;                       // Highest row written + 1
+
+    // Dictionaries: city name -> id, (source, destination) -> route id
+    // (only changed by add(), under the table's lock)
+    Map<String, Integer> cityIds = new HashMap<>();
+    List<String> cityNames = new ArrayList<>();
+    Map<Long, Integer> routeIds = new HashMap<>();
+    int[] routeSource = new int[16];
+    int[] routeDestination = new int[16];
+    int routeCount;
+
+    /* ===================== WRITING ===================== */
+
+    // Adds a row for a flight (its id must already be set)
+    synchronized void add(Flight f) {
+        int row = f.id;
+        Chunk c = chunkFor(row);
+        int i = row & (CHUNK - 1);
+        c.time[i] = f.time;
+        c.fare[i] = f.fare;
+        c.available[i] = f.availableSeats;
+        c.total[i] = f.totalSeats;
+        c.route[i] = routeId(cityId(f.source), cityId(f.destination));
+        c.flight[i] = f;
+        c.type[i] = (byte) f.type;          // Written last: a non-zero type marks the row as filled
+        if (row >= size) size = row + 1;
+    }
+
+    // Called after every seat change on the flight (lock held)
+    void setAvailable(int row, int availableSeats) {
+        chunks[row >>> CHUNK_BITS].available[row & (CHUNK - 1)] = availableSeats;
+    }
+
+    // Chunk holding a row, growing the chunk list if needed (caller holds the table lock).
+    // The list doubles, but a chunk is only allocated when a row lands in it;
+    // slots nobody has written yet stay null and scans skip them.
+    Chunk chunkFor(int row) {
+        int index = row >>> CHUNK_BITS;
+        Chunk[] current = chunks;
+        if (index >= current.length) {
+            current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+            chunks = current;
+        }
+        if (current[index] == null) current[index] = new Chunk();
+        return current[index];
+    }
+
+    int cityId(String city) {
+        String k = city.toUpperCase(Locale.ROOT);
+        Integer id = cityIds.get(k);
+        if (id == null) {
+            id = cityNames.size();
+            cityNames.add(city);
+            cityIds.put(k, id);
+        }
+        return id;
+    }
+
+    int routeId(int source, int destination) {
+        long k = ((long) source << 32) | destination;
+        Integer id = routeIds.get(k);
+        if (id == null) {
+            id = routeCount++;
+            if (id == routeSource.length) {
+                routeSource = Arrays.copyOf(routeSource, id * 2);
+                routeDestination = Arrays.copyOf(routeDestination, id * 2);
+            }
+            routeSource[id] = source;
+            routeDestination[id] = destination;
+            routeIds.put(k, id);
+        }
+        return id;
+    }
+
+    /* ===================== SCANS ===================== */
+    // type 0 = any; times are HHMM and inclusive
+
+    // Bit set for each flight type a filter accepts (1 << type)
+    static int typeMask(int type) {
+        return type == 0 ? (1 << 1) | (1 << 2) : 1 << type;
+    }
+
+    // Rows in use in chunk k
+    int rowsIn(int k, int rows) {
+        return Math.min(CHUNK, rows - (k << CHUNK_BITS));
+    }
+
+    // How many flights of a type leave between two times
+    long countDepartures(int type, int fromTime, int toTime) {
+        int rows = size;
+        Chunk[] all = chunks;
+        int mask = typeMask(type);
+        return IntStream.range(0, (rows + CHUNK - 1) >>> CHUNK_BITS).parallel().mapToLong(k -> {
+            Chunk c = all[k];
+            if (c == null) return 0;
+            int n = rowsIn(k, rows);
+            long count = 0;
+            // No branches in the loop body, so the JIT can vectorize it
+            for (int i = 0; i < n; i++) {
+                int t = c.time[i];
+                count += ((mask >>> c.type[i]) & 1) & (t >= fromTime ? 1 : 0) & (t <= toTime ? 1 : 0);
+            }
+            return count;
+        }).sum();
+    }
+
+    // The flights of a type leaving between two times, in row (= insertion) order
+    List<Flight> departures(int type, int fromTime, int toTime) {
+        int rows = size;
+        Chunk[] all = chunks;
+        int mask = typeMask(type);
+        List<Flight> result = new ArrayList<>();
+        IntStream.range(0, (rows + CHUNK - 1) >>> CHUNK_BITS).parallel().mapToObj(k -> {
+            Chunk c = all[k];
+            if (c == null) return new Flight[0];
+            int n = rowsIn(k, rows);
+            int[] hits = new int[16];
+            int found = 0;
+            for (int i = 0; i < n; i++) {
+                int t = c.time[i];
+                if (((mask >>> c.type[i]) & 1) != 0 && t >= fromTime && t <= toTime) {
+                    if (found == hits.length) hits = Arrays.copyOf(hits, found * 2);
+                    hits[found++] = i;
+                }
+            }
+            Flight[] matches = new Flight[found];
+            for (int j = 0; j < found; j++) matches[j] = c.flight[hits[j]];
+            return matches;
+        }).forEachOrdered(matches -> result.addAll(Arrays.asList(matches)));
+        return result;
+    }
+
+    /* -------- LOAD FACTOR BY ROUTE -------- */
+    static class RouteLoad {
+        String source;
+        String destination;
+        long flights;
+        long seats;
+        long sold;
+
+        double loadFactor() {
+            return seats == 0 ? 0 : (double) sold / seats;
+        }
+    }
+
+    // Seats sold / seats offered per route, fullest route first. Each chunk
+    // adds into plain arrays indexed by route id; the chunks are then summed.
+    List<RouteLoad> loadByRoute() {
+        int rows = size;
+        Chunk[] all = chunks;
+        int routes;
+        int[] sources;
+        int[] destinations;
+        List<String> names;
+        synchronized (this) {
+            routes = routeCount;
+            sources = routeSource.clone();
+            destinations = routeDestination.clone();
+            names = new ArrayList<>(cityNames);
+        }
+
+        long[] totals = IntStream.range(0, (rows + CHUNK - 1) >>> CHUNK_BITS).parallel().mapToObj(k -> {
+            Chunk c = all[k];
+            long[] sums = new long[routes * 3];     // flights, seats, sold per route
+            if (c == null) return sums;
+            int n = rowsIn(k, rows);
+            for (int i = 0; i < n; i++) {
+                if (c.type[i] == 0) continue;       // Empty row
+                int r = c.route[i];
+                if (r >= routes) continue;          // Route added after we started
+                sums[r * 3]++;
+                sums[r * 3 + 1] += c.total[i];
+                sums[r * 3 + 2] += c.total[i] - c.available[i];
+            }
+            return sums;
+        }).reduce(new long[routes * 3], (a, b) -> {
+            long[] sum = new long[a.length];
+            for (int i = 0; i < sum.length; i++) sum[i] = a[i] + b[i];
+            return sum;
+        });
+
+        List<RouteLoad> result = new ArrayList<>();
+        for (int r = 0; r < routes; r++) {
+            if (totals[r * 3] == 0) continue;
+            RouteLoad load = new RouteLoad();
+            load.source = names.get(sources[r]);
+            load.destination = names.get(destinations[r]);
+            load.flights = totals[r * 3];
+            load.seats = totals[r * 3 + 1];
+            load.sold = totals[r * 3 + 2];
+            result.add(load);
+        }
+        result.sort((a, b) -> Double.compare(b.loadFactor(), a.loadFactor()));
+        return result;
+    }
+}
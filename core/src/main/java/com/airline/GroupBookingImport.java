@@ -0,0 +1,130 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.List;
+
+// Import file I/O classes used to read the group file
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* =========================================================
+                  GROUP BOOKING IMPORT CLASS
+   Books the passengers listed in a CSV file, one per line:
+       flightNo,name,age[,seatPref[,payMethod]]
+   seatPref: 0.Any 1.Window 2.Middle 3.Aisle (default 0)
+   payMethod: cash/upi or 1/2 (default cash)
+   A header line starting with "flightNo" is skipped.
+
+   The file is read line by line, never loaded whole. Lines in
+   a row for the same flight form one group, booked all or
+   nothing through BookingService.bookGroup. A run longer than
+   MAX_GROUP is rejected whole: it could never fit on a flight,
+   and cutting it up would book part of the group.
+   ========================================================= */
+class GroupBookingImport {
+
+    static final int MAX_GROUP = Flight.MAX_SEATS;  // No flight has more seats
+    static final int MAX_ERRORS = 20;   // Error messages kept for the summary
+
+    BookingService service;
+    boolean together;       // Seat each group in consecutive seats
+
+    long booked;            // Passengers booked
+    long rejected;          // Passengers not booked (bad line, unknown flight, no room)
+    List<String> errors = new ArrayList<>();
+
+    // The group being collected (all for the same flight)
+    List<BookingRequest> group = new ArrayList<>();
+    String groupFlight;
+    long groupLine;         // Line number where the group started
+    long overflow;          // Lines of the group past MAX_GROUP (not kept)
+
+    GroupBookingImport(BookingService service, boolean together) {
+        this.service = service;
+        this.together = together;
+    }
+
+    /* -------- READ AND BOOK THE WHOLE FILE -------- */
+    void run(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || (lineNo == 1 && line.regionMatches(true, 0, "flightNo", 0, 8))) continue;
+
+                BookingRequest r = parse(line);
+                if (r == null) {
+                    rejected++;
+                    error("Line " + lineNo + ": cannot read \"" + line + "\"");
+                    continue;
+                }
+
+                // A new flight closes the current group
+                if (groupFlight != null && !groupFlight.equalsIgnoreCase(r.flightNo)) flush();
+                if (group.isEmpty()) {
+                    groupFlight = r.flightNo;
+                    groupLine = lineNo;
+                }
+                if (group.size() < MAX_GROUP) group.add(r);
+                else overflow++;            // Only counted: the group is rejected anyway
+            }
+        }
+        flush();
+    }
+
+    // Books the collected group and starts a new one
+    void flush() {
+        if (group.isEmpty()) return;
+        if (overflow > 0) {
+            rejected += group.size() + overflow;
+            error("Line " + groupLine + ": group of " + (group.size() + overflow) + " on " + groupFlight
+                    + " - more than " + MAX_GROUP + " passengers");
+        } else {
+            List<Passenger> result = service.bookGroup(groupFlight, group, together);
+            if (result != null) {
+                booked += result.size();
+            } else {
+                rejected += group.size();
+                error("Line " + groupLine + ": group of " + group.size() + " on " + groupFlight
+                        + (service.findFlight(groupFlight) == null ? " - flight not found" : " - not enough seats"));
+            }
+        }
+        group = new ArrayList<>();   // bookGroup's result may still refer to the old list
+        groupFlight = null;
+        overflow = 0;
+    }
+
+    // One CSV line to a request, or null if it is malformed
+    static BookingRequest parse(String line) {
+        String[] f = line.split(",");
+        if (f.length < 3 || f.length > 5) return null;
+        try {
+            String flightNo = f[0].trim();
+            String name = f[1].trim();
+            int age = Integer.parseInt(f[2].trim());
+            int pref = f.length > 3 ? Integer.parseInt(f[3].trim()) : 0;
+            int pay = f.length > 4 ? payMethod(f[4].trim()) : Passenger.CASH;
+            if (flightNo.isEmpty() || name.isEmpty() || age < 0 || pref < 0 || pref > 3 || pay == 0) return null;
+            return new BookingRequest(flightNo, name, age, pref, pay);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // "cash"/"1" -> CASH, "upi"/"2" -> UPI, anything else -> 0
+    static int payMethod(String s) {
+        if (s.equalsIgnoreCase("cash") || s.equals("1")) return Passenger.CASH;
+        if (s.equalsIgnoreCase("upi") || s.equals("2")) return Passenger.UPI;
+        return 0;
+    }
+
+    void error(String message) {
+        if (errors.size() < MAX_ERRORS) errors.add(message);
+    }
+}
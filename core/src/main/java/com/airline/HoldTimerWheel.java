@@ -0,0 +1,113 @@
+package com.airline;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Import functional interfaces for the clock and the expiry action
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/* =========================================================
+                     HOLD TIMER WHEEL CLASS
+   Expires seat holds without a thread or a scan per hold.
+
+   Time is cut into ticks (TICK_MILLIS). A ring of SLOTS lists
+   holds by their expiry tick: a hold expiring at tick t sits
+   in slot t % SLOTS (the first tick starting at or after its
+   expiresAt). Each tick one slot is walked; holds whose tick
+   has come are expired, later ones (a whole turn of the ring
+   away) stay put.
+
+   - Scheduling is O(1): bookers only add the hold to a
+     lock-free queue; the wheel thread files it into its slot.
+   - Confirmed or released holds are not searched for and
+     removed; they are dropped when their slot comes round.
+   ========================================================= */
+class HoldTimerWheel {
+
+    static final int SLOTS = 1024;          // Must be a power of two
+    static final long TICK_MILLIS = 100;
+
+    ConcurrentLinkedQueue<SeatHold> incoming = new ConcurrentLinkedQueue<>();  // Scheduled, not yet filed
+    SeatHold[] slots = new SeatHold[SLOTS]; // Head of each slot's list (wheel thread only)
+    long currentTick = -1;                  // Last tick processed
+
+    LongSupplier clock;                     // Current time in millis
+    Consumer<SeatHold> onExpire;            // Frees the seat of an expired hold
+    volatile Thread ticker;                 // Started with the first hold
+    boolean autoTick = true;                // false = the owner calls advance() itself (simulation)
+    long expired;                           // Holds expired so far
+
+    HoldTimerWheel(LongSupplier clock, Consumer<SeatHold> onExpire) {
+        this.clock = clock;
+        this.onExpire = onExpire;
+    }
+
+    /* -------- SCHEDULE A HOLD -------- */
+    void schedule(SeatHold h) {
+        incoming.add(h);
+        if (ticker == null && autoTick) start();
+    }
+
+    synchronized void start() {
+        if (ticker != null) return;
+        ticker = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(TICK_MILLIS);
+                    advance(clock.getAsLong());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "hold-expiry");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /* -------- MOVE THE WHEEL UP TO `now` -------- */
+    // Normally called by the wheel thread every tick; also callable
+    // directly (e.g. with a fake clock). Returns the holds expired.
+    synchronized int advance(long now) {
+        long target = now / TICK_MILLIS;
+        if (currentTick < 0) currentTick = target - 1;
+
+        // File newly scheduled holds into their slots
+        SeatHold h;
+        while ((h = incoming.poll()) != null) {
+            if (h.state != SeatHold.HELD) continue;   // Already confirmed or released
+            // Rounded up: a hold never expires before its expiresAt (at most a tick after)
+            long tick = Math.max((h.expiresAt + TICK_MILLIS - 1) / TICK_MILLIS, currentTick + 1);
+            int slot = (int) (tick & (SLOTS - 1));
+            h.deadlineTick = tick;
+            h.next = slots[slot];
+            slots[slot] = h;
+        }
+
+        // Walk each slot passed since last time (at most one full turn)
+        int count = 0;
+        long steps = Math.min(target - currentTick, SLOTS);
+        for (long i = 1; i <= steps; i++) {
+            int slot = (int) ((currentTick + i) & (SLOTS - 1));
+            SeatHold keep = null;
+            for (SeatHold x = slots[slot]; x != null; ) {
+                SeatHold next = x.next;
+                if (x.state != SeatHold.HELD) {
+                    x.next = null;                      // Confirmed/released: just drop it
+                } else if (x.deadlineTick <= target) {
+                    x.next = null;
+                    onExpire.accept(x);
+                    count++;
+                } else {
+                    x.next = keep;                      // Not due yet: stays for another turn
+                    keep = x;
+                }
+                x = next;
+            }
+            slots[slot] = keep;
+        }
+        if (target > currentTick) currentTick = target;
+        expired += count;
+        return count;
+    }
+}
@@ -0,0 +1,54 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.List;
+
+/* =========================================================
+                       ITINERARY CLASS
+   One way to get from A to B: one or more flights in a row.
+   Times are absolute minutes counted from 00:00 on the day
+   of the search, so they can run into the next day.
+   ========================================================= */
+class Itinerary {
+    List<Flight> legs;      // Flights in travel order
+    int[] departs;          // Absolute departure minute of each leg
+    int arrives;            // Absolute arrival minute of the last leg
+
+    Itinerary(List<Flight> legs, int[] departs) {
+        this.legs = legs;
+        this.departs = departs;
+        Flight last = legs.get(legs.size() - 1);
+        this.arrives = departs[departs.length - 1] + last.duration;
+    }
+
+    int stops() {
+        return legs.size() - 1;
+    }
+
+    double totalFare() {
+        double sum = 0;
+        for (Flight f : legs) sum += f.currentFare(FareQuote.REGULAR);
+        return sum;
+    }
+
+    // "09:30 AM" or "01:15 AM (+1)" for an absolute minute
+    static String formatMinute(int minute) {
+        int day = minute / 1440;
+        int m = minute % 1440;
+        String t = Flight.formatTime((m / 60) * 100 + m % 60);
+        return day == 0 ? t : t + " (+" + day + ")";
+    }
+
+    /* -------- DISPLAY ITINERARY -------- */
+    void displayItinerary() {
+        System.out.println("--------------------------------");
+        System.out.println((stops() == 0 ? "Direct" : stops() + " stop(s)")
+                + ", total " + (arrives - departs[0]) / 60 + "h " + (arrives - departs[0]) % 60 + "m"
+                + ", fare ₹" + totalFare());
+        for (int i = 0; i < legs.size(); i++) {
+            Flight f = legs.get(i);
+            System.out.println("  " + f.flightNo + "  " + f.source + " " + formatMinute(departs[i])
+                    + " -> " + f.destination + " " + formatMinute(departs[i] + f.duration));
+        }
+    }
+}
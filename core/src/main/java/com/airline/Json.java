@@ -0,0 +1,151 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/* =========================================================
+                          JSON CLASS
+   Just enough JSON for the HTTP API, without a library:
+   - quote() writes a string value with the needed escapes
+   - parseObject() reads one flat object of strings, numbers,
+     booleans and nulls (all returned as text)
+   - splitArray() cuts an array into the raw text of its
+     elements (used by the shard router to merge answers)
+   ========================================================= */
+class Json {
+
+    /* -------- WRITING -------- */
+    // Appends s as a JSON string ("..." with escapes)
+    static StringBuilder quote(StringBuilder out, String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') out.append('\\').append(c);
+            else if (c == '\n') out.append("\\n");
+            else if (c == '\r') out.append("\\r");
+            else if (c == '\t') out.append("\\t");
+            else if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+            else out.append(c);
+        }
+        return out.append('"');
+    }
+
+    static String quote(String s) {
+        return quote(new StringBuilder(), s).toString();
+    }
+
+    // {"error":"message"}
+    static String error(String message) {
+        return quote(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    /* -------- READING -------- */
+    // Reads {"key": value, ...}. Nested objects and arrays are not supported.
+    // Throws IllegalArgumentException on anything else.
+    static Map<String, String> parseObject(String text) {
+        Map<String, String> result = new HashMap<>();
+        int[] at = { skipSpace(text, 0) };
+        expect(text, at, '{');
+        if (peek(text, at) == '}') {
+            at[0]++;
+        } else {
+            while (true) {
+                String key = readString(text, at);
+                expect(text, at, ':');
+                result.put(key, readValue(text, at));
+                if (peek(text, at) == ',') { at[0]++; continue; }
+                expect(text, at, '}');
+                break;
+            }
+        }
+        if (skipSpace(text, at[0]) != text.length()) throw new IllegalArgumentException("Text after the JSON object");
+        return result;
+    }
+
+    // Splits [a, b, ...] into the text of each element. Elements can be
+    // anything (nested too); they are only cut apart, not parsed.
+    static List<String> splitArray(String text) {
+        List<String> elements = new ArrayList<>();
+        int[] at = { skipSpace(text, 0) };
+        expect(text, at, '[');
+        if (peek(text, at) == ']') return elements;
+
+        int depth = 0;
+        int start = at[0];
+        for (int i = at[0]; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                at[0] = i;
+                readString(text, at);     // Skip the string, brackets inside it do not count
+                i = at[0] - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == ',' || c == ']') && depth == 0) {
+                elements.add(text.substring(start, i).trim());
+                if (c == ']') return elements;
+                start = i + 1;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated array");
+    }
+
+    static String readValue(String text, int[] at) {
+        char c = peek(text, at);
+        if (c == '"') return readString(text, at);
+        if (c == '{' || c == '[') throw new IllegalArgumentException("Nested values are not supported");
+
+        // Number, true, false or null: read up to the next separator
+        int start = at[0];
+        while (at[0] < text.length() && ",} \t\r\n".indexOf(text.charAt(at[0])) < 0) at[0]++;
+        String word = text.substring(start, at[0]);
+        if (word.isEmpty()) throw new IllegalArgumentException("Missing value at " + start);
+        return word.equals("null") ? null : word;
+    }
+
+    static String readString(String text, int[] at) {
+        expect(text, at, '"');
+        StringBuilder s = new StringBuilder();
+        while (true) {
+            if (at[0] >= text.length()) throw new IllegalArgumentException("Unterminated string");
+            char c = text.charAt(at[0]++);
+            if (c == '"') return s.toString();
+            if (c != '\\') { s.append(c); continue; }
+            if (at[0] >= text.length()) throw new IllegalArgumentException("Unterminated string");
+            char e = text.charAt(at[0]++);
+            switch (e) {
+                case 'n': s.append('\n'); break;
+                case 'r': s.append('\r'); break;
+                case 't': s.append('\t'); break;
+                case 'b': s.append('\b'); break;
+                case 'f': s.append('\f'); break;
+                case 'u':
+                    if (at[0] + 4 > text.length()) throw new IllegalArgumentException("Bad \\u escape");
+                    s.append((char) Integer.parseInt(text.substring(at[0], at[0] + 4), 16));
+                    at[0] += 4;
+                    break;
+                default: s.append(e);   // \" \\ \/
+            }
+        }
+    }
+
+    static void expect(String text, int[] at, char c) {
+        if (peek(text, at) != c) throw new IllegalArgumentException("Expected '" + c + "' at " + at[0]);
+        at[0]++;
+    }
+
+    // Next non-space character (0 at the end), leaving `at` on it
+    static char peek(String text, int[] at) {
+        at[0] = skipSpace(text, at[0]);
+        return at[0] < text.length() ? text.charAt(at[0]) : 0;
+    }
+
+    static int skipSpace(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        return i;
+    }
+}
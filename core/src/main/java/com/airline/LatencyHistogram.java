@@ -0,0 +1,96 @@
+package com.airline;
+
+// Import lock-free counters
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/* =========================================================
+                   LATENCY HISTOGRAM CLASS
+   Lock-free histogram of nanosecond timings in the style of
+   HdrHistogram: values below 64 get a bucket each, above that
+   every power of two is split into 32 buckets, so any value is
+   off by at most 1/32 (about 3%) of itself. Recording is one
+   bit trick and four lock-free updates (bucket, count, sum and
+   max; the max is only written when it grows); no locks, no
+   allocation.
+   ========================================================= */
+class LatencyHistogram {
+
+    static final int SUB_BITS = 5;                  // 32 buckets per power of two
+    static final int SUB = 1 << SUB_BITS;
+    static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    LongAdder total = new LongAdder();
+    LongAdder sum = new LongAdder();
+    LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /* -------- RECORD -------- */
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        total.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    // Records the time since `startNanos` (a System.nanoTime() value)
+    void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int bucketOf(long v) {
+        if (v < 2 * SUB) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return (shift + 1) * SUB + (int) (v >>> shift) - SUB;
+    }
+
+    // Highest value that lands in a bucket
+    static long highestIn(int bucket) {
+        if (bucket < 2 * SUB) return bucket;
+        int shift = bucket / SUB - 1;
+        long sub = bucket % SUB + SUB;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /* -------- READ -------- */
+    long count() {
+        return total.sum();
+    }
+
+    double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    // Value at or below which `fraction` (0..1) of the recordings fall
+    long percentile(double fraction) {
+        long n = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) n += snapshot[i] = counts.get(i);
+        if (n == 0) return 0;
+
+        long wanted = Math.max(1, (long) Math.ceil(n * fraction));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= wanted) return Math.min(highestIn(i), max.get());
+        }
+        return max.get();
+    }
+
+    // "n 1234  mean 410 ns  p50 380 ns  p99 1.2 us  p99.9 8.9 us  max 120 us"
+    String summary() {
+        return String.format("n %d  mean %s  p50 %s  p90 %s  p99 %s  p99.9 %s  max %s",
+                count(), format((long) mean()), format(percentile(0.50)), format(percentile(0.90)),
+                format(percentile(0.99)), format(percentile(0.999)), format(max.get()));
+    }
+
+    static String format(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format("%.1f us", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format("%.1f ms", nanos / 1e6);
+        return String.format("%.2f s", nanos / 1e9);
+    }
+}
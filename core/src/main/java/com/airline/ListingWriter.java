@@ -0,0 +1,109 @@
+package com.airline;
+
+// Import the output stream and charset classes used for console output
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/* =========================================================
+                     LISTING WRITER CLASS
+   Collects a whole listing as bytes and hands it to the
+   console in one write (per 64 KB), instead of one println
+   per line. Numbers and amounts are written digit by digit,
+   so nothing is formatted into a String on the way.
+   Text is encoded the way System.out would encode it.
+   ========================================================= */
+class ListingWriter {
+
+    // The console's charset (Java 18+ names it stdout.encoding)
+    static final Charset CHARSET = System.getProperty("stdout.encoding") != null
+            ? Charset.forName(System.getProperty("stdout.encoding"))
+            : Charset.defaultCharset();
+    static final byte[] NEWLINE = encode(System.lineSeparator());
+    static final int FLUSH_AT = 1 << 16;
+
+    PrintStream out;
+    byte[] buf = new byte[4096];    // Grows up to a little over FLUSH_AT
+    int size;
+
+    ListingWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    static byte[] encode(String s) {
+        return s.getBytes(CHARSET);
+    }
+
+    /* -------- APPENDING -------- */
+    ListingWriter bytes(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, buf, size, b.length);
+        size += b.length;
+        return this;
+    }
+
+    ListingWriter text(String s) {
+        return bytes(encode(s));
+    }
+
+    ListingWriter newline() {
+        return bytes(NEWLINE);
+    }
+
+    // Same digits as String.valueOf(n)
+    ListingWriter number(long n) {
+        ensure(20);
+        if (n < 0) {
+            if (n == Long.MIN_VALUE) return text(Long.toString(n));
+            buf[size++] = '-';
+            n = -n;
+        }
+        int end = size + digits(n);
+        for (int i = end - 1; i >= size; i--) {
+            buf[i] = (byte) ('0' + n % 10);
+            n /= 10;
+        }
+        size = end;
+        return this;
+    }
+
+    // Same text as String.valueOf(amount). Fares are whole rupees, which are
+    // written without building a String ("4500.0"); anything else falls back.
+    ListingWriter amount(double amount) {
+        long whole = (long) amount;
+        if (whole == amount && Math.abs(amount) < 1e7) {
+            number(whole);
+            ensure(2);
+            buf[size++] = '.';
+            buf[size++] = '0';
+            return this;
+        }
+        return text(String.valueOf(amount));
+    }
+
+    static int digits(long n) {
+        int d = 1;
+        while (n >= 10) {
+            n /= 10;
+            d++;
+        }
+        return d;
+    }
+
+    void ensure(int more) {
+        if (size + more > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + more));
+    }
+
+    /* -------- WRITING OUT -------- */
+    // Call after each record: writes the buffer once it is big enough
+    void endRecord() {
+        if (size >= FLUSH_AT) flush();
+    }
+
+    // Writes everything collected so far in one go
+    void flush() {
+        if (size > 0) out.write(buf, 0, size);
+        out.flush();
+        size = 0;
+    }
+}
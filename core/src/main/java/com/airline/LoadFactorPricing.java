@@ -0,0 +1,96 @@
+package com.airline;
+
+// Import time classes for "how long until departure"
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+
+/* =========================================================
+                   LOAD FACTOR PRICING CLASS
+   Default pricing rules:
+     fare = base fare x load bucket x time bucket x category
+   - Load bucket: the fuller the flight, the dearer the seat
+   - Time bucket: last-minute tickets cost more
+   - Category:    senior citizens (60+) pay 20% less
+   Each quote also says for which free-seat counts and until
+   when it stays correct, so flights only re-price when a
+   booking or cancellation crosses a bucket boundary.
+   ========================================================= */
+class LoadFactorPricing implements PricingEngine {
+
+    // Share of seats sold at which the next load bucket starts
+    static final double[] LOAD_STEPS = {0.50, 0.75, 0.90};
+    static final double[] LOAD_FACTORS = {1.00, 1.15, 1.35, 1.60};
+
+    // Minutes left before departure at which the next time bucket starts
+    static final int[] TIME_STEPS = {360, 120};
+    static final double[] TIME_FACTORS = {1.00, 1.10, 1.25};
+
+    // Per passenger category (FareQuote.REGULAR, FareQuote.SENIOR)
+    static final double[] CATEGORY_FACTORS = {1.00, 0.80};
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    Clock clock;   // Time source (a fixed clock makes prices repeatable)
+
+    LoadFactorPricing(Clock clock) {
+        this.clock = clock;
+    }
+
+    public long millis() {
+        return clock.millis();
+    }
+
+    public double categoryFactor(int category) {
+        return CATEGORY_FACTORS[category];
+    }
+
+    public FareQuote quote(Flight f) {
+        /* -------- LOAD BUCKET -------- */
+        int total = f.totalSeats;
+        int sold = total - f.availableSeats;
+
+        // Seats sold at which each step starts (rounded up, so 50% of 9 is 5)
+        int bucket = 0;
+        int bucketStart = 0;           // Seats sold where this bucket starts
+        int nextStart = total + 1;     // ...and where the next one starts
+        for (double step : LOAD_STEPS) {
+            int at = (int) Math.ceil(step * total);
+            if (sold >= at) {
+                bucket++;
+                bucketStart = at;
+            } else {
+                nextStart = at;
+                break;
+            }
+        }
+        // Same range written as free seats, which is what bookings change
+        int minSeats = total - (nextStart - 1);
+        int maxSeats = total - bucketStart;
+
+        /* -------- TIME BUCKET -------- */
+        long now = clock.millis();
+        LocalTime t = LocalTime.ofInstant(Instant.ofEpochMilli(now), clock.getZone());
+        int nowMinute = t.getHour() * 60 + t.getMinute();
+        int minutesLeft = Math.floorMod(f.departureMinute() - nowMinute, MINUTES_PER_DAY);
+
+        int timeBucket = 0;
+        while (timeBucket < TIME_STEPS.length && minutesLeft <= TIME_STEPS[timeBucket]) timeBucket++;
+
+        // Whole minutes until minutesLeft reaches the next step; in the
+        // last bucket that is when the flight leaves and tomorrow's starts
+        int minutesValid = timeBucket < TIME_STEPS.length
+                ? minutesLeft - TIME_STEPS[timeBucket]
+                : minutesLeft + 1;
+        long minuteStart = now - (t.getSecond() * 1000L + t.getNano() / 1_000_000);
+        long validUntil = minuteStart + minutesValid * 60_000L;
+
+        /* -------- PRICES PER CATEGORY -------- */
+        double base = f.fare * LOAD_FACTORS[bucket] * TIME_FACTORS[timeBucket];
+        double[] fares = new double[CATEGORY_FACTORS.length];
+        for (int c = 0; c < fares.length; c++) {
+            fares[c] = Math.round(base * CATEGORY_FACTORS[c]);   // Whole rupees
+        }
+        return new FareQuote(fares, minSeats, maxSeats, validUntil);
+    }
+}
@@ -0,0 +1,85 @@
+package com.airline;
+
+// Import the base classes for a read-only collection view
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* =========================================================
+                        MANIFEST CLASS
+   The passengers booked on one flight, in booking order.
+   A plain array instead of a map from booking ID: every
+   passenger remembers its own position (Passenger.slot), so
+   removing one just empties that slot. When the array is full
+   and fewer than half of its slots are in use, it is packed
+   instead of grown.
+   Only used while holding the flight's lock.
+   ========================================================= */
+class Manifest extends AbstractCollection<Passenger> {
+
+    static final Passenger[] NONE = new Passenger[0];
+
+    Passenger[] slots = NONE;
+    int end;            // Slots in use, empty ones included
+    int count;          // Passengers on the manifest
+
+    public boolean add(Passenger p) {
+        if (end == slots.length) {
+            if (count < end / 2) pack();
+            else slots = Arrays.copyOf(slots, Math.max(8, end * 2));
+        }
+        p.slot = end;
+        slots[end++] = p;
+        count++;
+        return true;
+    }
+
+    // Removes a passenger; false if they are not on this manifest
+    boolean remove(Passenger p) {
+        if (p.slot >= end || slots[p.slot] != p) return false;
+        slots[p.slot] = null;
+        count--;
+        if (count == 0) end = 0;
+        return true;
+    }
+
+    // Closes the gaps, keeping booking order
+    void pack() {
+        int to = 0;
+        for (int i = 0; i < end; i++) {
+            Passenger p = slots[i];
+            if (p == null) continue;
+            p.slot = to;
+            slots[to++] = p;
+        }
+        Arrays.fill(slots, to, end, null);
+        end = to;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Iterator<Passenger> iterator() {
+        return new Iterator<Passenger>() {
+            int next = skipEmpty(0);
+
+            int skipEmpty(int i) {
+                while (i < end && slots[i] == null) i++;
+                return i;
+            }
+
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            public Passenger next() {
+                if (next >= end) throw new NoSuchElementException();
+                Passenger p = slots[next];
+                next = skipEmpty(next + 1);
+                return p;
+            }
+        };
+    }
+}
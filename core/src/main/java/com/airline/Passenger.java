@@ -0,0 +1,99 @@
+package com.airline;
+
+/* =========================================================
+                        PASSENGER CLASS
+   Represents a passenger with booking information.
+   There can be millions of these, so the record is kept to
+   one 48-byte object: the flight is its internal id, the seat
+   is packed into a short, the name is interned (a manifest
+   full of "Rahul Sharma"s keeps one copy; callers intern it
+   before taking the flight's lock) and a senior citizen is a
+   flag, not a subclass.
+   ========================================================= */
+class Passenger {
+    // Payment methods
+    static final int CASH = 1;
+    static final int UPI = 2;
+
+    long bookingId;      // Unique booking ID (shown as text by BookingIds.format)
+    double paidAmount;   // Amount paid for ticket
+    String name;         // Passenger name (interned by the caller)
+    int flightId;        // Flight.id of the flight booked (see ReservationRepository.flight)
+    int slot;            // Position in that flight's Manifest
+    int age;             // Passenger age
+    short seat;          // Seat number << 2 | seat type (number 0 = waitlisted, see Waitlist;
+                         // the type is then the one asked for, 0 = any)
+    byte payMethod;      // How it was paid (CASH or UPI)
+    boolean senior;      // Senior citizen (60 or older)
+
+    // Constructor to create a new passenger (seatNo 0 = waitlisted)
+    Passenger(long bookingId, String name, int age,
+              int flightId, int seatNo, double paidAmount, int payMethod) {
+        this.bookingId = bookingId;
+        this.name = name;
+        this.age = age;
+        this.senior = age >= 60;
+        this.flightId = flightId;
+        this.seat = packSeat(seatNo);
+        this.paidAmount = paidAmount;
+        this.payMethod = (byte) payMethod;
+    }
+
+    /* -------- PACKED SEAT -------- */
+    // Seat numbers go up to Flight.MAX_SEATS, which leaves the low two bits
+    // for the seat type (1.Window 2.Middle 3.Aisle)
+    static short packSeat(int seatNo) {
+        return seatNo == 0 ? 0 : (short) (seatNo << 2 | SeatMap.classOf(seatNo));
+    }
+
+    // Waitlisted, remembering the seat type asked for (1-3, anything else = any)
+    static short waiting(int pref) {
+        return (short) (pref >= 1 && pref <= 3 ? pref : 0);
+    }
+
+    // Seat number, or 0 while waitlisted
+    int seatNo() {
+        return (seat & 0xFFFF) >>> 2;  // One read: a waitlisted passenger may be seated meanwhile
+    }
+
+    // 1.Window 2.Middle 3.Aisle, or 0 while waitlisted
+    int seatType() {
+        int s = seat;
+        return (s & 0xFFFC) == 0 ? 0 : s & 3;
+    }
+
+    // Seat type a waitlisted passenger asked for (0 = any, or not waitlisted)
+    int wantedType() {
+        int s = seat;
+        return (s & 0xFFFC) == 0 ? s & 3 : 0;
+    }
+
+    boolean isWaitlisted() {
+        return (seat & 0xFFFC) == 0;
+    }
+
+    /* -------- DISPLAY PASSENGER DETAILS -------- */
+    void displayPassenger(Flight f) {
+        ListingWriter out = new ListingWriter(System.out);
+        render(out, f);
+        out.flush();
+    }
+
+    // Adds this passenger's details to a listing (e.g. a flight's manifest);
+    // f is the flight booked
+    void render(ListingWriter out, Flight f) {
+        int seatNo = seatNo();
+        out.text("--------------------------------").newline()
+           .text("Booking ID : ").text(BookingIds.format(bookingId)).newline()
+           .text("Name       : ").text(name).newline()
+           .text("Age        : ").number(age).newline()
+           .text("Flight No  : ").text(f.flightNo).newline()
+           .text("Seat No    : ");
+        if (seatNo == 0) out.text("Waitlisted");
+        else out.number(seatNo);
+        out.newline()
+           .text("Amount     : ₹").amount(paidAmount).newline()
+           .text("Payment    : ").text(payMethod == UPI ? "UPI" : "Cash").newline();
+        out.endRecord();
+    }
+}
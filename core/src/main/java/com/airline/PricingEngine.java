@@ -0,0 +1,20 @@
+package com.airline;
+
+/* =========================================================
+                   PRICING ENGINE INTERFACE
+   Anything that can price a flight. The engine builds a
+   FareQuote for the flight's current state; the flight caches
+   it and only asks again once the quote stops being valid
+   (seat count left its band or its time bucket ran out).
+   ========================================================= */
+interface PricingEngine {
+
+    // Builds a fresh quote from the flight's current seats and the time now
+    FareQuote quote(Flight f);
+
+    // Current time on the engine's clock (compared with FareQuote.validUntil)
+    long millis();
+
+    // Multiplier for a passenger category (FareQuote.REGULAR, FareQuote.SENIOR)
+    double categoryFactor(int category);
+}
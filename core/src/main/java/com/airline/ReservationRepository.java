@@ -0,0 +1,131 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* =========================================================
+                   RESERVATION REPOSITORY CLASS
+   In-memory store for all flights and bookings.
+   Flight numbers and booking IDs are matched ignoring case,
+   so every key is normalized to upper case before use.
+   The indexes are safe to read from many threads; a flight's
+   manifest is only changed while holding that flight's lock
+   (see BookingService).
+   ========================================================= */
+class ReservationRepository {
+
+    // Flights in the order they were added (used for listings)
+    Queue<Flight> flightList = new ConcurrentLinkedQueue<>();
+
+    // Index: normalized flightNo -> Flight
+    Map<String, Flight> flightsByNo = new ConcurrentHashMap<>();
+
+    // Next internal flight number (Flight.id)
+    AtomicInteger nextFlightId = new AtomicInteger();
+
+    // Index: Flight.id -> Flight (passengers only store the id).
+    // Replaced by a bigger copy when full; written under this object's lock.
+    volatile Flight[] flightsById = new Flight[64];
+
+    // Index: bookingId -> Passenger
+    // (each flight's own passengers are in Flight.manifest)
+    Map<Long, Passenger> passengersById = new ConcurrentHashMap<>();
+
+    /* -------- KEY NORMALIZATION -------- */
+    // "ai101" and "AI101" must find the same flight
+    static String key(String id) {
+        return id.toUpperCase(Locale.ROOT);
+    }
+
+    // Pre-sizes the indexes of an empty repository for a known amount of
+    // data (e.g. before loading a snapshot) so they never have to grow
+    void presize(int flightCount, long passengerCount) {
+        if (!flightsByNo.isEmpty()) return;
+        int passengers = (int) Math.min(passengerCount, 1 << 30);
+        flightsByNo = new ConcurrentHashMap<>(flightCount);
+        flightsById = new Flight[Math.max(64, flightCount)];
+        passengersById = new ConcurrentHashMap<>(passengers);
+    }
+
+    /* ===================== FLIGHTS ===================== */
+
+    // Adds a flight; returns false if the flight number is already taken
+    boolean addFlight(Flight f) {
+        // The id is recorded before the flight can be found, so a passenger
+        // of this flight can always be traced back to it
+        String k = key(f.flightNo);
+        synchronized (this) {
+            if (flightsByNo.containsKey(k)) return false;
+            f.id = nextFlightId.getAndIncrement();
+            if (f.id == flightsById.length) flightsById = Arrays.copyOf(flightsById, f.id * 2);
+            flightsById[f.id] = f;
+            flightsByNo.put(k, f);
+        }
+        flightList.add(f);
+        return true;
+    }
+
+    // Flight with this internal id (see Passenger.flightId)
+    Flight flight(int id) {
+        return flightsById[id];
+    }
+
+    // Finds a flight by number, or null if there is none
+    Flight findFlight(String flightNo) {
+        return flightsByNo.get(key(flightNo));
+    }
+
+    // All flights in insertion order
+    Collection<Flight> flights() {
+        return flightList;
+    }
+
+    int flightCount() {
+        return flightsByNo.size();
+    }
+
+    /* ===================== BOOKINGS ===================== */
+
+    // Stores a new booking in the booking and manifest indexes
+    // (caller holds the lock of the passenger's flight)
+    void addPassenger(Passenger p) {
+        passengersById.put(p.bookingId, p);
+        flight(p.flightId).manifest.add(p);
+    }
+
+    // Finds a booking by ID, or null if there is none
+    Passenger findPassenger(long bookingId) {
+        return passengersById.get(bookingId);
+    }
+
+    // Removes a booking from every index; returns the removed passenger or null
+    // (caller holds the lock of the passenger's flight)
+    Passenger removePassenger(long bookingId) {
+        Passenger p = passengersById.remove(bookingId);
+        if (p != null) {
+            flight(p.flightId).manifest.remove(p);
+        }
+        return p;
+    }
+
+    // Live view of the passengers booked on one flight
+    // (caller holds the flight's lock while iterating)
+    Collection<Passenger> passengersOn(String flightNo) {
+        Flight f = findFlight(flightNo);
+        return f == null ? List.of() : f.manifest;
+    }
+
+    int passengerCount() {
+        return passengersById.size();
+    }
+}
@@ -0,0 +1,135 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.Map;
+import java.util.TreeMap;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.ConcurrentHashMap;
+
+// Import date classes
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/* =========================================================
+                     REVENUE LEDGER CLASS
+   Keeps revenue totals per day, per flight and per route,
+   updated on every booking and cancellation (it listens to
+   the BookingService). A report just reads the totals of the
+   groups it shows, it never walks through the passengers.
+
+   Snapshots save each flight's totals per day; after a
+   restart those are loaded and only the journal records
+   written after the snapshot are added on top (every BOOKED
+   and CANCELLED record carries its own amount, payment
+   method and time).
+   ========================================================= */
+class RevenueLedger implements BookingListener {
+
+    /* -------- ONE DAY'S TOTALS -------- */
+    static class DayRevenue {
+        RevenueTotals total = new RevenueTotals();
+        Map<String, RevenueTotals> byFlight = new ConcurrentHashMap<>();
+        Map<String, RevenueTotals> byRoute = new ConcurrentHashMap<>();
+    }
+
+    ZoneId zone;    // Time zone that decides which day an event belongs to
+
+    Map<Long, DayRevenue> byDay = new ConcurrentHashMap<>();          // Epoch day -> totals
+    Map<String, RevenueTotals> byFlight = new ConcurrentHashMap<>();  // All time
+    Map<String, RevenueTotals> byRoute = new ConcurrentHashMap<>();   // All time
+    Map<String, String> routeOf = new ConcurrentHashMap<>();          // Flight number -> route name
+
+    RevenueLedger(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /* ===================== EVENTS ===================== */
+
+    public void booked(Flight f, Passenger p, double discount, long at) {
+        recordBooking(f.flightNo, routeName(f), p.paidAmount, discount, p.payMethod, at);
+    }
+
+    public void cancelled(Flight f, Passenger p, long at) {
+        recordRefund(f.flightNo, routeName(f), p.paidAmount, at);
+    }
+
+    void recordBooking(String flightNo, String route, double paid, double discount, int payMethod, long at) {
+        DayRevenue day = day(at);
+        day.total.booked(paid, discount, payMethod);
+        group(day.byFlight, flightNo).booked(paid, discount, payMethod);
+        group(day.byRoute, route).booked(paid, discount, payMethod);
+        group(byFlight, flightNo).booked(paid, discount, payMethod);
+        group(byRoute, route).booked(paid, discount, payMethod);
+    }
+
+    void recordRefund(String flightNo, String route, double amount, long at) {
+        DayRevenue day = day(at);
+        day.total.refunded(amount);
+        group(day.byFlight, flightNo).refunded(amount);
+        group(day.byRoute, route).refunded(amount);
+        group(byFlight, flightNo).refunded(amount);
+        group(byRoute, route).refunded(amount);
+    }
+
+    DayRevenue day(long at) {
+        long epochDay = LocalDate.ofInstant(Instant.ofEpochMilli(at), zone).toEpochDay();
+        return byDay.computeIfAbsent(epochDay, d -> new DayRevenue());
+    }
+
+    static RevenueTotals group(Map<String, RevenueTotals> groups, String key) {
+        RevenueTotals t = groups.get(key);   // Plain get first: the group almost always exists
+        return t != null ? t : groups.computeIfAbsent(key, k -> new RevenueTotals());
+    }
+
+    // "Delhi -> Mumbai", built once per flight
+    String routeName(Flight f) {
+        String route = routeOf.get(f.flightNo);
+        return route != null ? route : routeOf.computeIfAbsent(f.flightNo, k -> f.source + " -> " + f.destination);
+    }
+
+    /* ===================== SNAPSHOTS ===================== */
+    // Copy of one flight's totals, per epoch day. The caller holds the
+    // flight's lock, so no booking on it is half counted.
+    Map<Long, RevenueTotals> flightDays(String flightNo) {
+        Map<Long, RevenueTotals> days = new TreeMap<>();
+        for (Map.Entry<Long, DayRevenue> e : byDay.entrySet()) {
+            RevenueTotals t = e.getValue().byFlight.get(flightNo);
+            if (t != null) days.put(e.getKey(), t.copy());
+        }
+        return days;
+    }
+
+    // Adds one flight's saved totals for one day back into every group
+    void restore(Flight f, long epochDay, RevenueTotals t) {
+        String route = routeName(f);
+        DayRevenue day = byDay.computeIfAbsent(epochDay, d -> new DayRevenue());
+        day.total.add(t);
+        group(day.byFlight, f.flightNo).add(t);
+        group(day.byRoute, route).add(t);
+        group(byFlight, f.flightNo).add(t);
+        group(byRoute, route).add(t);
+    }
+
+    /* ===================== DAILY REPORT ===================== */
+    void displayDay(LocalDate date) {
+        System.out.println("\n--- REVENUE REPORT FOR " + date + " ---");
+        DayRevenue day = byDay.get(date.toEpochDay());
+        if (day == null) {
+            System.out.println("No bookings or cancellations on this day.");
+            return;
+        }
+        System.out.println("Total : " + day.total.summary());
+
+        // Sorted copies of the (few) group names for a stable listing
+        System.out.println("\nBy flight:");
+        for (Map.Entry<String, RevenueTotals> e : new TreeMap<>(day.byFlight).entrySet()) {
+            System.out.println("  " + e.getKey() + " : " + e.getValue().summary());
+        }
+        System.out.println("\nBy route:");
+        for (Map.Entry<String, RevenueTotals> e : new TreeMap<>(day.byRoute).entrySet()) {
+            System.out.println("  " + e.getKey() + " : " + e.getValue().summary());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.airline;
+
+// Import adders so many booking threads can update one total without a lock
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/* =========================================================
+                     REVENUE TOTALS CLASS
+   Running money totals for one group (a day, a flight or a
+   route). Every booking or cancellation adds to them, so a
+   report only reads these numbers.
+   ========================================================= */
+class RevenueTotals {
+
+    DoubleAdder gross = new DoubleAdder();          // Amount charged for tickets
+    DoubleAdder refunds = new DoubleAdder();        // Amount paid back on cancellation
+    DoubleAdder seniorDiscount = new DoubleAdder(); // Given away to senior citizens
+    LongAdder bookings = new LongAdder();
+    LongAdder cancellations = new LongAdder();
+
+    // Payments taken, by method
+    LongAdder cashCount = new LongAdder();
+    DoubleAdder cashAmount = new DoubleAdder();
+    LongAdder upiCount = new LongAdder();
+    DoubleAdder upiAmount = new DoubleAdder();
+
+    void booked(double paid, double discount, int payMethod) {
+        gross.add(paid);
+        seniorDiscount.add(discount);
+        bookings.increment();
+        if (payMethod == Passenger.UPI) {
+            upiCount.increment();
+            upiAmount.add(paid);
+        } else {
+            cashCount.increment();
+            cashAmount.add(paid);
+        }
+    }
+
+    void refunded(double amount) {
+        refunds.add(amount);
+        cancellations.increment();
+    }
+
+    // Adds another group's totals to these
+    void add(RevenueTotals t) {
+        gross.add(t.gross.sum());
+        refunds.add(t.refunds.sum());
+        seniorDiscount.add(t.seniorDiscount.sum());
+        bookings.add(t.bookings.sum());
+        cancellations.add(t.cancellations.sum());
+        cashCount.add(t.cashCount.sum());
+        cashAmount.add(t.cashAmount.sum());
+        upiCount.add(t.upiCount.sum());
+        upiAmount.add(t.upiAmount.sum());
+    }
+
+    RevenueTotals copy() {
+        RevenueTotals t = new RevenueTotals();
+        t.add(this);
+        return t;
+    }
+
+    // What the airline keeps: charged minus refunded
+    double net() {
+        return gross.sum() - refunds.sum();
+    }
+
+    /* -------- ONE-LINE SUMMARY FOR REPORTS -------- */
+    String summary() {
+        return String.format("booked %d, cancelled %d, gross ₹%.2f, refunds ₹%.2f, net ₹%.2f, "
+                        + "senior discount ₹%.2f, cash %d (₹%.2f), UPI %d (₹%.2f)",
+                bookings.sum(), cancellations.sum(), gross.sum(), refunds.sum(), net(),
+                seniorDiscount.sum(), cashCount.sum(), cashAmount.sum(), upiCount.sum(), upiAmount.sum());
+    }
+}
@@ -0,0 +1,116 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/* =========================================================
+                      ROUTE INDEX CLASS
+   For every origin city (and every origin -> destination pair)
+   its departures ordered by time of day. Flights repeat daily,
+   so "the next departures after 22:00" wrap around to the
+   early flights of the following day.
+   ========================================================= */
+class RouteIndex {
+
+    // Normalized origin -> (departure minute << 32 | flight id) -> leg
+    Map<String, ConcurrentSkipListMap<Long, Leg>> byOrigin = new ConcurrentHashMap<>();
+
+    // Normalized "origin>destination" -> same ordering, for the last leg of a trip
+    Map<String, ConcurrentSkipListMap<Long, Leg>> byRoute = new ConcurrentHashMap<>();
+
+    /* -------- ONE FLIGHT AS STORED IN THE INDEX -------- */
+    // City keys are normalized once here instead of on every search
+    static class Leg {
+        Flight flight;
+        String fromKey;
+        String toKey;
+        Leg(Flight flight) {
+            this.flight = flight;
+            this.fromKey = ReservationRepository.key(flight.source);
+            this.toKey = ReservationRepository.key(flight.destination);
+        }
+    }
+
+    /* -------- ONE DEPARTURE ON A GIVEN DAY -------- */
+    static class Departure {
+        Leg leg;
+        int at;             // Absolute departure minute (counted from day 0, 00:00)
+        Departure(Leg leg, int at) {
+            this.leg = leg;
+            this.at = at;
+        }
+    }
+
+    // Sort key: departure minute first, flight id to keep equal times apart
+    static long departureKey(Flight f) {
+        return ((long) f.departureMinute() << 32) | f.id;
+    }
+
+    void add(Flight f) {
+        Leg leg = new Leg(f);
+        byOrigin.computeIfAbsent(leg.fromKey, k -> new ConcurrentSkipListMap<>())
+                .put(departureKey(f), leg);
+        byRoute.computeIfAbsent(leg.fromKey + ">" + leg.toKey, k -> new ConcurrentSkipListMap<>())
+                .put(departureKey(f), leg);
+    }
+
+    // Adds many flights, sorted by route and time first so that inserts
+    // into each timetable arrive in order
+    void addAll(List<Flight> flights) {
+        List<Leg> legs = new ArrayList<>(flights.size());
+        for (Flight f : flights) legs.add(new Leg(f));
+        legs.sort(Comparator.comparing((Leg l) -> l.fromKey).thenComparing(l -> l.toKey)
+                .thenComparingLong(l -> departureKey(l.flight)));
+
+        ConcurrentSkipListMap<Long, Leg> origin = null;
+        ConcurrentSkipListMap<Long, Leg> route = null;
+        Leg previous = null;
+        for (Leg leg : legs) {
+            if (previous == null || !leg.fromKey.equals(previous.fromKey)) {
+                origin = byOrigin.computeIfAbsent(leg.fromKey, k -> new ConcurrentSkipListMap<>());
+            }
+            if (previous == null || !leg.fromKey.equals(previous.fromKey) || !leg.toKey.equals(previous.toKey)) {
+                route = byRoute.computeIfAbsent(leg.fromKey + ">" + leg.toKey, k -> new ConcurrentSkipListMap<>());
+            }
+            origin.put(departureKey(leg.flight), leg);
+            route.put(departureKey(leg.flight), leg);
+            previous = leg;
+        }
+    }
+
+    // Departures from a city leaving between absolute minutes `from` and `until`
+    List<Departure> departures(String cityKey, int from, int until) {
+        return collect(byOrigin.get(cityKey), from, until);
+    }
+
+    // Same, but only the flights going straight to `toKey`
+    List<Departure> departures(String cityKey, String toKey, int from, int until) {
+        return collect(byRoute.get(cityKey + ">" + toKey), from, until);
+    }
+
+    // Walks a timetable from `from` onwards, wrapping into later days
+    static List<Departure> collect(ConcurrentSkipListMap<Long, Leg> timetable, int from, int until) {
+        List<Departure> out = new ArrayList<>();
+        if (timetable == null || from > until) return out;
+
+        int day = from / 1440;
+        int minute = from % 1440;
+        while (true) {
+            for (Leg leg : timetable.tailMap((long) minute << 32).values()) {
+                int at = day * 1440 + leg.flight.departureMinute();
+                if (at > until) return out;
+                out.add(new Departure(leg, at));
+            }
+            day++;
+            minute = 0;
+            if (day * 1440 > until) return out;
+        }
+    }
+}
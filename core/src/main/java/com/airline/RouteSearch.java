@@ -0,0 +1,112 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/* =========================================================
+                      ROUTE SEARCH CLASS
+   Finds itineraries with up to maxStops connections.
+   Works like Dijkstra over arrival times: partial trips are
+   taken from a queue earliest-arrival-first and extended by
+   the departures from their last city that leave after the
+   minimum connection time. Because trips come out of the
+   queue in arrival order, the first `limit` that reach the
+   destination are the earliest-arriving ones.
+   ========================================================= */
+class RouteSearch {
+
+    static final int MIN_CONNECTION = 60;   // Minutes needed to change planes
+    static final int MAX_LAYOVER = 12 * 60; // Longest wait we still offer
+    static final int FIRST_LEG_WINDOW = 24 * 60;  // How far ahead the first flight may leave
+
+    RouteIndex index;
+
+    RouteSearch(RouteIndex index) {
+        this.index = index;
+    }
+
+    /* -------- PARTIAL TRIP IN THE QUEUE -------- */
+    static class Label {
+        RouteIndex.Leg leg; // Last flight taken
+        int departs;        // Its absolute departure minute
+        int arrives;        // Its absolute arrival minute
+        int legs;           // Flights so far
+        Label prev;         // Trip up to the previous city (null for the first leg)
+
+        Label(RouteIndex.Departure d, Label prev) {
+            this.leg = d.leg;
+            this.departs = d.at;
+            this.arrives = d.at + d.leg.flight.duration;
+            this.prev = prev;
+            this.legs = prev == null ? 1 : prev.legs + 1;
+        }
+
+        // True if this trip already passed through a city (no loops)
+        boolean visits(String cityKey) {
+            for (Label l = this; l != null; l = l.prev) {
+                if (l.leg.fromKey.equals(cityKey) || l.leg.toKey.equals(cityKey)) return true;
+            }
+            return false;
+        }
+    }
+
+    /* -------- FIND ITINERARIES -------- */
+    List<Itinerary> find(String from, String to, int after, int maxStops, int minConnection, int limit) {
+        List<Itinerary> results = new ArrayList<>();
+        String origin = ReservationRepository.key(from);
+        String target = ReservationRepository.key(to);
+        int start = (after / 100) * 60 + after % 100;
+
+        PriorityQueue<Label> queue = new PriorityQueue<>((a, b) -> Integer.compare(a.arrives, b.arrives));
+        for (RouteIndex.Departure d : index.departures(origin, start, start + FIRST_LEG_WINDOW)) {
+            queue.add(new Label(d, null));
+        }
+
+        // How often each city has been expanded per number of flights taken;
+        // only the `limit` earliest arrivals at a city are worth extending
+        Map<String, int[]> expanded = new HashMap<>();
+
+        while (!queue.isEmpty() && results.size() < limit) {
+            Label l = queue.poll();
+            String city = l.leg.toKey;
+
+            if (city.equals(target)) {
+                results.add(toItinerary(l));
+                continue;
+            }
+            if (l.legs > maxStops) continue;  // No more connections allowed
+
+            int[] count = expanded.computeIfAbsent(city, k -> new int[maxStops + 1]);
+            if (++count[l.legs] > limit) continue;
+
+            // On the last allowed connection only flights into the destination help
+            boolean lastLeg = l.legs == maxStops;
+            List<RouteIndex.Departure> next = lastLeg
+                    ? index.departures(city, target, l.arrives + minConnection, l.arrives + MAX_LAYOVER)
+                    : index.departures(city, l.arrives + minConnection, l.arrives + MAX_LAYOVER);
+
+            for (RouteIndex.Departure d : next) {
+                String nextCity = d.leg.toKey;
+                if (nextCity.equals(target) || !l.visits(nextCity)) {
+                    queue.add(new Label(d, l));
+                }
+            }
+        }
+        return results;
+    }
+
+    // Walks a label chain back to the first flight
+    static Itinerary toItinerary(Label last) {
+        Flight[] legs = new Flight[last.legs];
+        int[] departs = new int[last.legs];
+        for (Label l = last; l != null; l = l.prev) {
+            legs[l.legs - 1] = l.leg.flight;
+            departs[l.legs - 1] = l.departs;
+        }
+        return new Itinerary(List.of(legs), departs);
+    }
+}
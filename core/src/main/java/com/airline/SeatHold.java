@@ -0,0 +1,37 @@
+package com.airline;
+
+/* =========================================================
+                        SEAT HOLD CLASS
+   A seat kept aside for one customer while they pay. The
+   seat counts as taken until the hold is confirmed (it
+   becomes a booking), released, or runs out of time.
+   The fares quoted when the hold was made are kept, so the
+   customer pays what they were shown.
+   ========================================================= */
+class SeatHold {
+
+    // Hold states
+    static final int HELD = 0;
+    static final int CONFIRMED = 1;
+    static final int RELEASED = 2;
+    static final int EXPIRED = 3;
+
+    Flight flight;          // Flight the seat is on
+    int seatNo;             // Seat kept aside
+    long expiresAt;         // Clock millis after which the hold is gone
+    double regularFare;     // Fares quoted when the hold was made
+    double seniorFare;
+    volatile int state = HELD;  // Changed under the flight's lock; read by the timer wheel without it
+
+    // Used only by HoldTimerWheel
+    long deadlineTick;      // Wheel tick at which the hold expires
+    SeatHold next;          // Next hold in the same wheel slot
+
+    SeatHold(Flight flight, int seatNo, long expiresAt, double regularFare, double seniorFare) {
+        this.flight = flight;
+        this.seatNo = seatNo;
+        this.expiresAt = expiresAt;
+        this.regularFare = regularFare;
+        this.seniorFare = seniorFare;
+    }
+}
@@ -0,0 +1,161 @@
+package com.airline;
+
+/* =========================================================
+                        SEAT MAP CLASS
+   Compact seat inventory for one flight.
+   Seats are split into three classes by seat number
+   (1 = Window, 2 = Middle, 3 = Aisle, repeating every 3 seats)
+   and each class keeps its own bitset of free seats.
+   A set bit means "Free", a clear bit means "Booked".
+   ========================================================= */
+class SeatMap {
+
+    int totalSeats;         // Total seats on the flight
+    long[][] free;          // free[class][word] : one bitset per seat class (index 1..3)
+    int[] freeCount;        // freeCount[class]  : free seats left in each class (index 1..3)
+    int[] firstWord;        // firstWord[class]  : lowest word that may still hold a free bit
+
+    // Creates a seat map with every seat free
+    SeatMap(int totalSeats) {
+        this.totalSeats = totalSeats;
+        free = new long[4][];
+        freeCount = new int[4];
+        firstWord = new int[4];
+
+        for (int c = 1; c <= 3; c++) {
+            int n = seatsInClass(c);                 // How many seats belong to this class
+            free[c] = new long[(n + 63) >>> 6];      // 64 seats per long word
+            freeCount[c] = n;
+
+            // Set one bit per seat, leaving the unused tail of the last word clear
+            for (int w = 0; w < free[c].length; w++) {
+                int bits = Math.min(64, n - (w << 6));
+                free[c][w] = bits == 64 ? -1L : (1L << bits) - 1;
+            }
+        }
+    }
+
+    // Rebuilds a seat map from saved bitset words (see SnapshotStore)
+    SeatMap(int totalSeats, long[][] words) {
+        this.totalSeats = totalSeats;
+        free = words;
+        freeCount = new int[4];
+        firstWord = new int[4];
+        for (int c = 1; c <= 3; c++) {
+            for (long w : words[c]) freeCount[c] += Long.bitCount(w);
+        }
+    }
+
+    // Number of long words class c needs on a flight with totalSeats seats
+    static int wordsFor(int totalSeats, int seatClass) {
+        int n = totalSeats >= seatClass ? (totalSeats - seatClass) / 3 + 1 : 0;
+        return (n + 63) >>> 6;
+    }
+
+    // Sets a seat's "Free" bit in copied bitset words (see copyWords)
+    static void markFree(long[][] words, int seatNo) {
+        int i = indexOf(seatNo);
+        words[classOf(seatNo)][i >>> 6] |= 1L << i;
+    }
+
+    // Copy of the bitset words (index 1..3), e.g. for a snapshot
+    long[][] copyWords() {
+        return new long[][] { null, free[1].clone(), free[2].clone(), free[3].clone() };
+    }
+
+    /* -------- SEAT NUMBER <-> (CLASS, INDEX) -------- */
+    // Seat class of a seat number: 1, 4, 7... are windows, 3, 6, 9... are aisles
+    static int classOf(int seatNo) {
+        int c = seatNo % 3;
+        return c == 0 ? 3 : c;
+    }
+
+    // Position of a seat inside its class bitset (seat 1 -> 0, seat 4 -> 1, ...)
+    static int indexOf(int seatNo) {
+        return (seatNo - 1) / 3;
+    }
+
+    // Seat number stored at a given index of a class bitset
+    static int seatAt(int seatClass, int index) {
+        return index * 3 + seatClass;
+    }
+
+    // Number of seats of one class on a flight with totalSeats seats
+    int seatsInClass(int seatClass) {
+        return totalSeats >= seatClass ? (totalSeats - seatClass) / 3 + 1 : 0;
+    }
+
+    /* -------- QUERIES -------- */
+    // Free seats left on the whole flight
+    int freeSeats() {
+        return freeCount[1] + freeCount[2] + freeCount[3];
+    }
+
+    // True if seatNo is a valid seat that is currently free
+    boolean isFree(int seatNo) {
+        if (seatNo < 1 || seatNo > totalSeats) return false;
+        int i = indexOf(seatNo);
+        return (free[classOf(seatNo)][i >>> 6] & (1L << i)) != 0;
+    }
+
+    // Lowest free seat number of one class, or -1 if the class is full
+    int firstFree(int seatClass) {
+        if (freeCount[seatClass] == 0) return -1;
+
+        long[] words = free[seatClass];
+        // Skip the words we already know are fully booked
+        for (int w = firstWord[seatClass]; w < words.length; w++) {
+            if (words[w] != 0) {
+                firstWord[seatClass] = w;
+                return seatAt(seatClass, (w << 6) + Long.numberOfTrailingZeros(words[w]));
+            }
+        }
+        return -1;
+    }
+
+    // Lowest free seat number of any class, or -1 if the flight is full
+    int firstFreeAny() {
+        int best = -1;
+        for (int c = 1; c <= 3; c++) {
+            int seatNo = firstFree(c);
+            if (seatNo != -1 && (best == -1 || seatNo < best)) best = seatNo;
+        }
+        return best;
+    }
+
+    // First seat of `count` free seats with consecutive numbers
+    // (e.g. 7, 8, 9 = one row), or -1 if no such run is left
+    int firstFreeRun(int count) {
+        if (count < 1 || count > freeSeats()) return -1;
+        int run = 0;
+        // No run can start before the lowest free seat
+        for (int seatNo = firstFreeAny(); seatNo <= totalSeats; seatNo++) {
+            run = isFree(seatNo) ? run + 1 : 0;
+            if (run == count) return seatNo - count + 1;
+        }
+        return -1;
+    }
+
+    /* -------- UPDATES -------- */
+    // Marks a free seat as booked; returns false if it was not free
+    boolean take(int seatNo) {
+        if (!isFree(seatNo)) return false;
+        int c = classOf(seatNo);
+        int i = indexOf(seatNo);
+        free[c][i >>> 6] &= ~(1L << i);  // Clear the "Free" bit
+        freeCount[c]--;
+        return true;
+    }
+
+    // Marks a booked seat as free again; returns false if it was not booked
+    boolean release(int seatNo) {
+        if (seatNo < 1 || seatNo > totalSeats || isFree(seatNo)) return false;
+        int c = classOf(seatNo);
+        int i = indexOf(seatNo);
+        free[c][i >>> 6] |= 1L << i;     // Set the "Free" bit
+        freeCount[c]++;
+        // The freed seat may sit before our scan hint, so move the hint back
+        if ((i >>> 6) < firstWord[c]) firstWord[c] = i >>> 6;
+        return true;
+    }
+}
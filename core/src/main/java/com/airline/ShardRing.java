@@ -0,0 +1,78 @@
+package com.airline;
+
+// Import helpers for sorting the ring and hashing flight numbers
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/* =========================================================
+                       SHARD RING CLASS
+   Consistent hashing of flight numbers onto shards. Every
+   shard is placed on a 64-bit ring at VNODES points; a flight
+   belongs to the first point at or after its own hash. Adding
+   a shard only moves the flights that land on its new points
+   (about 1/N of them), and the many points per shard keep the
+   shards evenly loaded.
+   Immutable, so router and shards can share it freely.
+   ========================================================= */
+class ShardRing {
+
+    static final int VNODES = 128;  // Points per shard
+
+    int shards;
+    long[] points;    // Ring positions, sorted
+    int[] owners;     // owners[i] = shard placed at points[i]
+
+    ShardRing(int shards) {
+        if (shards < 1 || shards > SnowflakeIdGenerator.MAX_NODE + 1) {
+            throw new IllegalArgumentException("Shard count must be 1-" + (SnowflakeIdGenerator.MAX_NODE + 1));
+        }
+        this.shards = shards;
+
+        // Place every shard's points, then sort them (owners along with them)
+        long[][] placed = new long[shards * VNODES][];
+        for (int s = 0; s < shards; s++) {
+            for (int v = 0; v < VNODES; v++) {
+                placed[s * VNODES + v] = new long[] { hash("shard-" + s + "#" + v), s };
+            }
+        }
+        Arrays.sort(placed, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[placed.length];
+        owners = new int[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = (int) placed[i][1];
+        }
+    }
+
+    // Shard that owns a flight ("ai101" and "AI101" are the same flight)
+    int shardFor(String flightNo) {
+        int i = Arrays.binarySearch(points, hash(ReservationRepository.key(flightNo)));
+        if (i < 0) i = -i - 1;            // First point after the hash
+        if (i == points.length) i = 0;    // Past the last point: wrap around
+        return owners[i];
+    }
+
+    // Shard that made a booking: each shard runs with node id = shard index,
+    // so the node bits of the booking ID name it
+    int shardOf(long bookingId) {
+        int node = SnowflakeIdGenerator.nodeOf(bookingId);
+        return node < shards ? node : -1;
+    }
+
+    /* -------- HASH -------- */
+    // 64-bit FNV-1a over the UTF-8 bytes, then a final mix so that
+    // similar keys ("AI101", "AI102") land far apart on the ring
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e16c2L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,259 @@
+package com.airline;
+
+// Import collection classes used to merge answers from the shards
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Import thread pools and futures for talking to the shards
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+// Import the JDK's HTTP server and client
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/* =========================================================
+                      SHARD ROUTER CLASS
+   Front door for several ApiServer shards. Flights are spread
+   over the shards by a ShardRing on the flight number; each
+   shard owns its flights' seat maps, bookings and journal.
+
+     by flight number  /flights/{no}..., POST /flights,
+                       POST /bookings (flightNo in the body)
+     by booking ID     GET|DELETE /bookings/{id}: shard i runs
+                       with node id i, so the ID names its shard
+     fan out + merge   GET /flights, /search, /metrics
+
+   The router keeps no state of its own: requests are passed on
+   as they are (admin login included) and answers sent back.
+   A shard only knows its own flights, so a connection between
+   flights on different shards cannot be found: the router
+   searches direct flights only (stops=0 by default) and turns
+   down a request for connections instead of answering with
+   part of them.
+   ========================================================= */
+class ShardRouter {
+
+    ShardRing ring;
+    String[] shards;        // Base URL of each shard, index = shard number
+    HttpServer server;
+    ExecutorService executor;
+    HttpClient client;
+
+    /* -------- CREATE AND START -------- */
+    ShardRouter(List<String> shardUrls, int port) throws IOException {
+        shards = new String[shardUrls.size()];
+        for (int i = 0; i < shards.length; i++) shards[i] = shardUrls.get(i).replaceAll("/+$", "");
+        ring = new ShardRing(shards.length);
+
+        executor = ApiServer.requestExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        server = HttpServer.create(new InetSocketAddress(port), 8192);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop(int seconds) {
+        server.stop(seconds);
+        executor.shutdown();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    /* ===================== ROUTING ===================== */
+    void handle(HttpExchange ex) throws IOException {
+        try {
+            String method = ex.getRequestMethod();
+            String[] path = ex.getRequestURI().getPath().split("/");  // "", "flights", "AI101", ...
+            Map<String, String> query = ApiServer.parseQuery(ex.getRequestURI().getRawQuery());
+            String body = ApiServer.readBody(ex);
+
+            String resource = path.length > 1 ? path[1] : "";
+            if (resource.equals("flights")) {
+                if (path.length == 2 && method.equals("GET")) listFlights(ex, query);
+                else if (path.length == 2) forward(ex, byFlightIn(body), body);
+                else forward(ex, ring.shardFor(path[2]), body);
+            } else if (resource.equals("search") && path.length == 2 && method.equals("GET")) {
+                search(ex, query);
+            } else if (resource.equals("metrics") && path.length == 2 && method.equals("GET")) {
+                metrics(ex);
+            } else if (resource.equals("bookings") && path.length == 2) {
+                forward(ex, byFlightIn(body), body);
+            } else if (resource.equals("bookings") && path.length == 3) {
+                int shard = ring.shardOf(BookingIds.parse(path[2]));
+                if (shard < 0) ApiServer.send(ex, 404, Json.error("Ticket not found"));
+                else forward(ex, shard, body);
+            } else {
+                ApiServer.send(ex, 404, Json.error("Not found"));
+            }
+        } catch (IllegalArgumentException e) {
+            ApiServer.send(ex, 400, Json.error(e.getMessage() == null ? "Bad request" : e.getMessage()));
+        } catch (ShardDown e) {
+            ApiServer.send(ex, 502, Json.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            ApiServer.serverError(ex, e);
+        } finally {
+            ex.close();
+        }
+    }
+
+    // Shard of the flight named in a JSON request body
+    int byFlightIn(String body) {
+        return ring.shardFor(ApiServer.required(Json.parseObject(body), "flightNo"));
+    }
+
+    /* ===================== PASS ONE REQUEST ON ===================== */
+    void forward(HttpExchange ex, int shard, String body) throws IOException {
+        String target = ex.getRequestURI().getRawPath();
+        if (ex.getRequestURI().getRawQuery() != null) target += "?" + ex.getRequestURI().getRawQuery();
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(shards[shard] + target))
+                .method(ex.getRequestMethod(), body.isEmpty()
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        String auth = ex.getRequestHeaders().getFirst("Authorization");
+        if (auth != null) request.header("Authorization", auth);
+        if (!body.isEmpty()) request.header("Content-Type", "application/json");
+
+        HttpResponse<byte[]> answer = call(shard, request.build());
+        answer.headers().firstValue("WWW-Authenticate")
+                .ifPresent(v -> ex.getResponseHeaders().set("WWW-Authenticate", v));
+        ex.getResponseHeaders().set("Content-Type",
+                answer.headers().firstValue("Content-Type").orElse("application/json; charset=utf-8"));
+        ex.sendResponseHeaders(answer.statusCode(), answer.body().length == 0 ? -1 : answer.body().length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(answer.body());
+        }
+    }
+
+    HttpResponse<byte[]> call(int shard, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new ShardDown(shard, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ShardDown(shard, e);
+        }
+    }
+
+    /* ===================== FAN OUT ===================== */
+    // Sends the same GET to every shard at once and waits for all answers.
+    // A shard answering with an error fails the whole request with that error.
+    List<String> askAll(HttpExchange ex) throws IOException {
+        String target = ex.getRequestURI().getRawPath();
+        if (ex.getRequestURI().getRawQuery() != null) target += "?" + ex.getRequestURI().getRawQuery();
+        return askAll(ex, target);
+    }
+
+    // Same, for a given path and query
+    List<String> askAll(HttpExchange ex, String target) throws IOException {
+        List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+        for (String shard : shards) {
+            pending.add(client.sendAsync(HttpRequest.newBuilder(URI.create(shard + target)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        List<String> answers = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            HttpResponse<String> answer;
+            try {
+                answer = pending.get(i).join();
+            } catch (CompletionException e) {
+                throw new ShardDown(i, e.getCause());
+            }
+            if (answer.statusCode() != 200) {
+                ApiServer.send(ex, answer.statusCode(), answer.body());
+                return null;
+            }
+            answers.add(answer.body());
+        }
+        return answers;
+    }
+
+    void listFlights(HttpExchange ex, Map<String, String> query) throws IOException {
+        List<String> answers = askAll(ex);
+        if (answers == null) return;
+        List<String> flights = new ArrayList<>();
+        for (String answer : answers) flights.addAll(Json.splitArray(answer));
+
+        // Each shard's list is sorted already; the merged one is sorted again on
+        // the same key as an unsharded server: departure time, then flight number
+        if ("true".equals(query.get("sorted"))) {
+            flights.sort(Comparator.comparingLong((String f) -> numberField(f, "hhmm"))
+                    .thenComparing(f -> ReservationRepository.key(Json.parseObject(f).get("flightNo"))));
+        }
+        ApiServer.send(ex, 200, "[" + String.join(",", flights) + "]");
+    }
+
+    void search(HttpExchange ex, Map<String, String> query) throws IOException {
+        int limit = Math.min(ApiServer.intParam(query, "limit", 10), 100);
+        if (ApiServer.intParam(query, "stops", 0) != 0) {
+            throw new IllegalArgumentException("Connecting flights are not searched through the shard router"
+                    + " (their legs can live on different shards): use stops=0");
+        }
+        String raw = ex.getRequestURI().getRawQuery();
+        String target = ex.getRequestURI().getRawPath() + "?" + (raw == null ? "" : raw);
+        if (!query.containsKey("stops")) target += (raw == null ? "" : "&") + "stops=0";
+        List<String> answers = askAll(ex, target);
+        if (answers == null) return;
+
+        // Earliest arrival first over all shards, then cut to the limit
+        List<String> found = new ArrayList<>();
+        for (String answer : answers) found.addAll(Json.splitArray(answer));
+        found.sort(Comparator.comparingLong(it -> numberField(it, "arrivesAt")));
+        if (found.size() > limit) found = found.subList(0, limit);
+        ApiServer.send(ex, 200, "[" + String.join(",", found) + "]");
+    }
+
+    void metrics(HttpExchange ex) throws IOException {
+        List<String> answers = askAll(ex);
+        if (answers == null) return;
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < shards.length; i++) {
+            out.append("# ===== shard ").append(i).append(" (").append(shards[i]).append(") =====\n");
+            out.append(answers.get(i));
+        }
+        ApiServer.sendText(ex, 200, out.toString());
+    }
+
+    // Reads the first "key":number in an element (top-level keys come
+    // before any nested ones in what ApiServer writes)
+    static long numberField(String element, String key) {
+        int at = element.indexOf("\"" + key + "\":");
+        if (at < 0) return Long.MAX_VALUE;
+        int start = at + key.length() + 3;
+        int end = start;
+        while (end < element.length() && (Character.isDigit(element.charAt(end)) || element.charAt(end) == '-')) end++;
+        return Long.parseLong(element.substring(start, end));
+    }
+
+    /* -------- A SHARD DID NOT ANSWER -------- */
+    static class ShardDown extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ShardDown(int shard, Throwable cause) {
+            super("Shard " + shard + " is not answering: " + cause, cause);
+        }
+    }
+}
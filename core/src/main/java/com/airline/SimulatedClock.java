@@ -0,0 +1,45 @@
+package com.airline;
+
+// Import the time classes a Clock is built from
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/* =========================================================
+                    SIMULATED CLOCK CLASS
+   A clock that only moves when told to. The simulation sets
+   it to the time of each event, so prices, booking times,
+   booking IDs and hold expiry are the same on every run with
+   the same seed, however fast the machine is.
+   ========================================================= */
+class SimulatedClock extends Clock {
+
+    volatile long millis;   // Current time (epoch ms)
+    ZoneId zone;
+
+    SimulatedClock(long millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    // Moves the clock forward (never back) to `to`
+    void advanceTo(long to) {
+        if (to > millis) millis = to;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public Clock withZone(ZoneId zone) {
+        return new SimulatedClock(millis, zone);
+    }
+}
@@ -0,0 +1,561 @@
+package com.airline;
+
+// Import collection classes used for the event queue and the live bookings
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Import the thread helper used to keep to a schedule
+import java.util.concurrent.locks.LockSupport;
+
+// Import file classes for the optional journal
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* =========================================================
+                       SIMULATION CLASS
+   Drives a BookingService without the menu: a generated
+   timetable, then a stream of customers described by a
+   Workload (operation mix, seat preferences, senior share,
+   hot flights, abandoned holds...).
+
+   Everything random comes from one seeded generator, and the
+   service runs on a SimulatedClock that is set to the time of
+   each event, so prices, booking IDs and hold expiry do not
+   depend on how fast the machine is. Events run one at a
+   time, earliest first (a customer paying for a hold is an
+   event of its own). The same workload and seed therefore
+   give exactly the same run, and the run's fingerprint -
+   a hash of every answer the service gave plus the final
+   state - proves it.
+
+   At the end it reports throughput and latency percentiles
+   per operation, checks that seats, waitlists, indexes and
+   revenue all agree, and (with a journal) that replaying the
+   journal rebuilds the same state.
+   ========================================================= */
+class Simulation {
+
+    static final String[] CITIES = {"Delhi", "Mumbai", "Dubai", "Bengaluru", "Chennai", "London",
+            "Kolkata", "Hyderabad", "Singapore", "Ahmedabad", "Pune", "Goa", "Bangkok", "Surat",
+            "Jaipur", "Kochi"};
+    static final Set<String> ABROAD = Set.of("Dubai", "London", "Singapore", "Bangkok");
+    static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Arjun", "Sai", "Ishaan",
+            "Rohan", "Kabir", "Ananya", "Diya", "Saanvi", "Aadhya", "Pari", "Myra", "Meera", "Kavya"};
+    static final String[] LAST_NAMES = {"Sharma", "Verma", "Patel", "Gupta", "Singh", "Kumar",
+            "Reddy", "Nair", "Iyer", "Das", "Mehta", "Shah", "Joshi", "Rao", "Khan", "Menon"};
+    static final int MAX_PROBLEMS = 20;     // Problems listed in the report (all are counted)
+
+    // Operations (index into latency and OPERATIONS)
+    static final int BOOK = 0;
+    static final int HOLD = 1;
+    static final int CANCEL = 2;
+    static final int SEARCH = 3;
+    static final int VIEW = 4;
+    static final int ADMIN = 5;
+    static final int PAY = 6;       // Not drawn from the mix: follows a hold
+    static final String[] OPERATIONS = {"book", "hold", "cancel", "search", "view", "admin", "pay"};
+
+    Workload w;
+    SimulatedClock clock;
+    BookingService service;
+    BookingJournal journal;         // null = in memory only
+    SplittableRandom random;
+
+    Flight[] flights;               // Most popular first
+    double[] popularity;            // Running total of the Zipf weights of flights[0..i]
+    double[] operationMix;          // Running totals of the operation weights
+    double[] prefMix;               // Running totals of the seat preference weights
+    LatencyHistogram[] latency = new LatencyHistogram[OPERATIONS.length];
+
+    PriorityQueue<Event> payments = new PriorityQueue<>((a, b) ->
+            a.at != b.at ? Long.compare(a.at, b.at) : Long.compare(a.seq, b.seq));
+    long nextSeq;
+
+    // Booking IDs that are still live (to cancel and look up), in no order
+    long[] live = new long[1024];
+    int liveCount;
+
+    // What happened
+    long arrived;
+    long seated, waitlisted, soldOut;
+    long holdsTaken, holdsRefused, holdsPaid, paidTooLate, abandoned;
+    long cancelled, searches, searchesFound, views, adminRuns, skipped;
+    double charged, refunded;       // Tallied here, apart from the revenue ledger
+    long fingerprint = 0xcbf29ce484222325L;
+    long problemCount;
+    List<String> problems = new ArrayList<>();
+
+    long startMillis;               // Simulated start time
+    long wallStart;                 // System.nanoTime() at the start
+
+    /* -------- A CUSTOMER COMING BACK TO PAY FOR A HOLD -------- */
+    static class Event {
+        long at;            // Simulated time (epoch ms)
+        long seq;           // Breaks ties between events at the same millisecond
+        SeatHold hold;
+        String name;
+        int age;
+        int payMethod;
+    }
+
+    /* ===================== SET UP ===================== */
+    Simulation(Workload w) throws IOException {
+        this.w = w;
+        random = new SplittableRandom(w.seed);
+        startMillis = w.start.atZone(w.zone).toInstant().toEpochMilli();
+        clock = new SimulatedClock(startMillis, w.zone);
+
+        // The journal is written without fsync: the run measures the service, not the disk
+        if (!w.journal.isEmpty()) {
+            Path path = Path.of(w.journal);
+            if (Files.exists(path)) throw new IllegalArgumentException("Journal file already exists: " + path);
+            journal = new BookingJournal(path, false);
+        }
+        service = newService(journal);
+        for (int i = 0; i < latency.length; i++) latency[i] = new LatencyHistogram();
+
+        operationMix = runningTotals(w.book, w.hold, w.cancel, w.search, w.view, w.admin);
+        prefMix = runningTotals(w.prefAny, w.prefWindow, w.prefMiddle, w.prefAisle);
+    }
+
+    // A service on the simulated clock; its hold wheel is moved by the event loop
+    BookingService newService(BookingJournal journal) {
+        BookingService s = new BookingService(new SnowflakeIdGenerator(0, clock::millis), journal);
+        s.useClock(clock);
+        s.holdMillis = w.holdMinutes * 60_000L;
+        s.overbookPercent = w.overbookPercent;
+        s.waitlistOrder = Waitlist.order(w.waitlistOrder);
+        s.holdWheel.autoTick = false;
+        return s;
+    }
+
+    // Random flights between the first `cities` cities; flight i is the i-th most popular
+    void buildTimetable() {
+        flights = new Flight[w.flights];
+        for (int i = 0; i < w.flights; i++) {
+            int from = random.nextInt(w.cities);
+            int to = otherCity(from);
+            int type = ABROAD.contains(CITIES[from]) || ABROAD.contains(CITIES[to]) ? 2 : 1;
+            int minute = random.nextInt(288) * 5;
+            int duration = type == 1 ? 60 + random.nextInt(121) : 180 + random.nextInt(421);
+            double fare = type == 1 ? 2500 + 100 * random.nextInt(66) : 15000 + 500 * random.nextInt(91);
+            flights[i] = new Flight("SM" + (1000 + i), CITIES[from], CITIES[to], type,
+                    minute / 60 * 100 + minute % 60, duration, w.seats, fare);
+        }
+        service.addFlights(Arrays.asList(flights));
+
+        popularity = new double[w.flights];
+        double sum = 0;
+        for (int i = 0; i < w.flights; i++) popularity[i] = sum += 1 / Math.pow(i + 1, w.hotSkew);
+    }
+
+    /* ===================== RUN ===================== */
+    // Runs the whole workload and prints the report; false if a check failed
+    boolean run() throws IOException {
+        System.out.println("Workload: " + w.describe().replace("\n", "\n          "));
+        buildTimetable();
+
+        wallStart = System.nanoTime();
+        long nextArrival = startMillis + gap(1000 / w.rate);
+        while (arrived < w.arrivals || !payments.isEmpty()) {
+            Event e = payments.peek();
+            if (arrived < w.arrivals && (e == null || nextArrival <= e.at)) {
+                moveTo(nextArrival, true);
+                arrived++;
+                nextArrival += gap(1000 / w.rate);
+                arrive();
+            } else {
+                payments.poll();
+                moveTo(e.at, true);
+                pay(e);
+            }
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        long simulated = clock.millis() - startMillis;
+
+        // Let every unpaid hold run out before looking at the final state
+        moveTo(clock.millis() + service.holdMillis + HoldTimerWheel.TICK_MILLIS, false);
+
+        checkState();
+        long digest = stateDigest(service);
+        if (journal != null) checkReplay(digest);
+        mix(digest);
+        report(wallNanos, simulated);
+        return problemCount == 0;
+    }
+
+    // Sets the clock to the next event, expires holds that ran out by then,
+    // and with a pace waits until the event is due in real time
+    void moveTo(long at, boolean keepPace) {
+        clock.advanceTo(at);
+        service.holdWheel.advance(at);
+        if (keepPace && w.pace > 0) {
+            long due = wallStart + (long) ((at - startMillis) * 1e6 / w.pace);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+        }
+    }
+
+    /* ===================== OPERATIONS ===================== */
+    // One customer: picks an operation from the mix. Inputs are drawn
+    // before the clock starts, so only the service call is timed.
+    void arrive() {
+        switch (pick(operationMix)) {
+            case BOOK: book(); break;
+            case HOLD: hold(); break;
+            case CANCEL: cancel(); break;
+            case SEARCH: search(); break;
+            case VIEW: view(); break;
+            default: admin(); break;
+        }
+    }
+
+    void book() {
+        Flight f = pickFlight();
+        String name = name();
+        int age = age();
+        int pref = pick(prefMix);
+        int payMethod = payMethod();
+
+        long start = System.nanoTime();
+        Passenger p = service.book(f.flightNo, name, age, pref, payMethod);
+        latency[BOOK].recordSince(start);
+
+        if (p == null) soldOut++;
+        booked(p);
+    }
+
+    void hold() {
+        Flight f = pickFlight();
+        int pref = pick(prefMix);
+
+        long start = System.nanoTime();
+        SeatHold h = service.hold(f.flightNo, pref);
+        latency[HOLD].recordSince(start);
+
+        if (h == null) {
+            holdsRefused++;
+            mix(0);
+            return;
+        }
+        holdsTaken++;
+        mix(h.seatNo);
+        if (random.nextDouble() < w.holdAbandon) {
+            abandoned++;                // Never comes back: the hold expires
+            return;
+        }
+        Event e = new Event();
+        e.at = clock.millis() + gap(w.payDelay * 1000);
+        e.seq = nextSeq++;
+        e.hold = h;
+        e.name = name();
+        e.age = age();
+        e.payMethod = payMethod();
+        payments.add(e);
+    }
+
+    void pay(Event e) {
+        long start = System.nanoTime();
+        Passenger p = service.confirm(e.hold, e.name, e.age, e.payMethod);
+        latency[PAY].recordSince(start);
+
+        if (p == null) paidTooLate++;   // The hold expired first
+        else holdsPaid++;
+        booked(p);
+    }
+
+    // Counts a new booking (null = none was made)
+    void booked(Passenger p) {
+        if (p == null) {
+            mix(0);
+            return;
+        }
+        if (p.isWaitlisted()) waitlisted++;
+        else seated++;
+        charged += p.paidAmount;
+        if (liveCount == live.length) live = Arrays.copyOf(live, liveCount * 2);
+        live[liveCount++] = p.bookingId;
+        mix(p.bookingId);
+        mix(p.seatNo());
+        mix(Double.doubleToLongBits(p.paidAmount));
+    }
+
+    void cancel() {
+        if (liveCount == 0) {
+            skipped++;
+            return;
+        }
+        int i = random.nextInt(liveCount);
+        long id = live[i];
+        live[i] = live[--liveCount];
+
+        long start = System.nanoTime();
+        Passenger p = service.cancel(id);
+        latency[CANCEL].recordSince(start);
+
+        if (p == null) {
+            problem("cancelling live booking " + BookingIds.format(id) + " found nothing");
+            return;
+        }
+        cancelled++;
+        refunded += p.paidAmount;
+        mix(id);
+    }
+
+    void search() {
+        int from = random.nextInt(w.cities);
+        int to = otherCity(from);
+        int after = random.nextInt(24) * 100;
+        int maxStops = random.nextInt(2);
+
+        long start = System.nanoTime();
+        List<Itinerary> found = service.searchRoutes(CITIES[from], CITIES[to], after, maxStops, 10);
+        latency[SEARCH].recordSince(start);
+
+        searches++;
+        if (!found.isEmpty()) searchesFound++;
+        mix(found.size());
+        if (!found.isEmpty()) mix(found.get(0).arrives);
+    }
+
+    void view() {
+        if (liveCount == 0) {
+            skipped++;
+            return;
+        }
+        long id = live[random.nextInt(liveCount)];
+
+        long start = System.nanoTime();
+        Passenger p = service.findBooking(id);
+        int position = p == null ? 0 : service.waitlistPosition(p);
+        latency[VIEW].recordSince(start);
+
+        if (p == null) {
+            problem("live booking " + BookingIds.format(id) + " not found");
+            return;
+        }
+        views++;
+        mix(p.seatNo());
+        mix(position);
+    }
+
+    // Takes turns: a manifest, two analytics scans and the metrics report
+    void admin() {
+        Flight f = pickFlight();
+        int task = (int) (adminRuns++ % 4);
+
+        long start = System.nanoTime();
+        long result;
+        switch (task) {
+            case 0: result = service.manifest(f.flightNo).size(); break;
+            case 1: result = service.table.countDepartures(0, 600, 1200); break;
+            case 2: result = service.table.loadByRoute().size(); break;
+            default: service.metricsReport(); result = 0; break;  // Holds timings: not repeatable
+        }
+        latency[ADMIN].recordSince(start);
+        mix(result);
+    }
+
+    /* -------- RANDOM INPUTS -------- */
+    Flight pickFlight() {
+        int i = Arrays.binarySearch(popularity, random.nextDouble() * popularity[popularity.length - 1]);
+        if (i < 0) i = -i - 1;
+        return flights[Math.min(i, flights.length - 1)];
+    }
+
+    int otherCity(int city) {
+        int other = random.nextInt(w.cities - 1);
+        return other >= city ? other + 1 : other;
+    }
+
+    String name() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    int age() {
+        return random.nextDouble() < w.seniorRatio ? 60 + random.nextInt(30) : 18 + random.nextInt(42);
+    }
+
+    int payMethod() {
+        return random.nextDouble() < w.upiRatio ? Passenger.UPI : Passenger.CASH;
+    }
+
+    // Exponentially distributed wait in ms with the given mean (a Poisson stream of events)
+    long gap(double meanMillis) {
+        return Math.round(-Math.log(1 - random.nextDouble()) * meanMillis);
+    }
+
+    static double[] runningTotals(double... weights) {
+        double[] totals = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) totals[i] = sum += weights[i];
+        return totals;
+    }
+
+    // Index drawn with probability proportional to its weight
+    int pick(double[] totals) {
+        double r = random.nextDouble() * totals[totals.length - 1];
+        for (int i = 0; i < totals.length; i++) {
+            if (r < totals[i]) return i;
+        }
+        return totals.length - 1;
+    }
+
+    /* ===================== CHECKS ===================== */
+    // Seats, waitlists, indexes and money must all tell the same story
+    void checkState() {
+        long onManifests = 0;
+        double livePaid = 0;
+        for (Flight f : service.flights()) {
+            synchronized (f) {
+                int seatedHere = 0;
+                int waiting = 0;
+                BitSet seen = new BitSet(f.totalSeats + 1);
+                for (Passenger p : f.manifest) {
+                    livePaid += p.paidAmount;
+                    int seatNo = p.seatNo();
+                    if (seatNo == 0) {
+                        waiting++;
+                        continue;
+                    }
+                    seatedHere++;
+                    if (seen.get(seatNo)) problem(f.flightNo + ": seat " + seatNo + " sold twice");
+                    seen.set(seatNo);
+                    if (f.seats.isFree(seatNo)) problem(f.flightNo + ": seat " + seatNo + " is sold but free");
+                    if (p.seatType() != SeatMap.classOf(seatNo)) problem(f.flightNo + ": seat " + seatNo + " has the wrong type");
+                }
+                onManifests += f.manifest.size();
+
+                if (!f.holds.isEmpty()) problem(f.flightNo + ": " + f.holds.size() + " holds never expired");
+                if (f.totalSeats - f.availableSeats != seatedHere + f.holds.size()) {
+                    problem(f.flightNo + ": " + f.availableSeats + " seats free but " + seatedHere + " seated");
+                }
+                if (f.seats.freeSeats() != f.availableSeats) {
+                    problem(f.flightNo + ": seat map has " + f.seats.freeSeats() + " free, count says " + f.availableSeats);
+                }
+                if (f.waitlist.size() != waiting) {
+                    problem(f.flightNo + ": waitlist has " + f.waitlist.size() + ", manifest " + waiting + " waiting");
+                }
+                if (waiting > 0 && f.availableSeats > 0) problem(f.flightNo + ": seats free while passengers wait");
+                if (waiting > service.overbookLimit(f)) problem(f.flightNo + ": waitlist over the overbooking limit");
+                int column = service.table.chunks[f.id >>> FlightTable.CHUNK_BITS].available[f.id & (FlightTable.CHUNK - 1)];
+                if (column != f.availableSeats) problem(f.flightNo + ": flight table says " + column + " seats free");
+            }
+        }
+        if (onManifests != service.repo.passengerCount() || liveCount != service.repo.passengerCount()) {
+            problem("bookings: " + service.repo.passengerCount() + " by ID, " + onManifests + " on manifests, "
+                    + liveCount + " expected");
+        }
+
+        // Revenue ledger against this run's own tally and against the live bookings
+        double gross = 0;
+        double refunds = 0;
+        long bookings = 0;
+        long cancellations = 0;
+        for (RevenueTotals t : service.revenue.byFlight.values()) {
+            gross += t.gross.sum();
+            refunds += t.refunds.sum();
+            bookings += t.bookings.sum();
+            cancellations += t.cancellations.sum();
+        }
+        if (bookings != seated + waitlisted || cancellations != cancelled) {
+            problem("revenue ledger counts " + bookings + " bookings and " + cancellations + " cancellations, expected "
+                    + (seated + waitlisted) + " and " + cancelled);
+        }
+        if (!sameAmount(gross - refunds, charged - refunded) || !sameAmount(gross - refunds, livePaid)) {
+            problem(String.format("revenue: ledger net ₹%.2f, charged - refunded ₹%.2f, live bookings ₹%.2f",
+                    gross - refunds, charged - refunded, livePaid));
+        }
+    }
+
+    // Equal up to rounding (amounts are summed in different orders)
+    static boolean sameAmount(double a, double b) {
+        return Math.abs(a - b) <= 0.01 + 1e-9 * Math.abs(a);
+    }
+
+    // Replaying the journal into a fresh service must rebuild the same state
+    void checkReplay(long digest) throws IOException {
+        journal.close();
+        try (BookingJournal again = new BookingJournal(Path.of(w.journal), false)) {
+            BookingService copy = newService(again);
+            again.replay(copy);
+            if (stateDigest(copy) != digest) problem("replaying the journal gives a different state");
+        }
+    }
+
+    void problem(String text) {
+        if (problemCount++ < MAX_PROBLEMS) problems.add(text);
+    }
+
+    /* ===================== FINGERPRINT ===================== */
+    // Adds one value to the run's fingerprint (FNV-1a over the value's bytes)
+    void mix(long v) {
+        fingerprint = mix(fingerprint, v);
+    }
+
+    static long mix(long h, long v) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (v >>> (i * 8)) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // Hash of every flight's seats, waitlist and passengers, in the order they were added
+    static long stateDigest(BookingService s) {
+        long h = 0xcbf29ce484222325L;
+        for (Flight f : s.flights()) {
+            synchronized (f) {
+                h = mix(h, ShardRing.hash(f.flightNo));
+                h = mix(h, f.availableSeats);
+                h = mix(h, f.waitlist.size());
+                for (Passenger p : f.manifest) {
+                    h = mix(h, p.bookingId);
+                    h = mix(h, p.seatNo());
+                    h = mix(h, Double.doubleToLongBits(p.paidAmount));
+                    h = mix(h, p.name.hashCode() * 31L + p.age);
+                    h = mix(h, p.payMethod);
+                }
+            }
+        }
+        return h;
+    }
+
+    /* ===================== REPORT ===================== */
+    void report(long wallNanos, long simulatedMillis) {
+        long events = arrived + holdsPaid + paidTooLate;
+        double seconds = wallNanos / 1e9;
+        long simulated = simulatedMillis / 1000;
+        System.out.printf("Ran %d arrivals and %d payments (%dh %02dm %02ds simulated) in %.2f s: %.0f operations/s%n",
+                arrived, holdsPaid + paidTooLate, simulated / 3600, simulated / 60 % 60, simulated % 60,
+                seconds, events / Math.max(seconds, 1e-9));
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            if (latency[i].count() > 0) System.out.printf("  %-7s %s%n", OPERATIONS[i], latency[i].summary());
+        }
+
+        System.out.println("Bookings: " + seated + " seated, " + waitlisted + " waitlisted, " + soldOut
+                + " sold out, " + cancelled + " cancelled, " + service.metrics.promotions.sum()
+                + " promoted from the waitlist, " + liveCount + " live");
+        System.out.println("Holds   : " + holdsTaken + " taken, " + holdsPaid + " paid, " + paidTooLate
+                + " paid too late, " + abandoned + " abandoned, " + service.holdWheel.expired + " expired, "
+                + holdsRefused + " refused (full)");
+        System.out.println("Other   : " + searches + " searches (" + searchesFound + " found a route), " + views
+                + " lookups, " + adminRuns + " admin tasks, " + skipped + " skipped (no bookings yet)");
+        System.out.printf("Revenue : ₹%.2f charged, ₹%.2f refunded, ₹%.2f net%n", charged, refunded, charged - refunded);
+
+        if (problemCount == 0) {
+            System.out.println("Checks  : OK (" + flights.length + " flights, " + liveCount + " bookings"
+                    + (journal != null ? ", journal replay" : "") + ")");
+        } else {
+            System.out.println("Checks  : FAILED, " + problemCount + " problems");
+            for (String p : problems) System.out.println("  " + p);
+        }
+        System.out.printf("Fingerprint: %016x%n", fingerprint);
+    }
+}
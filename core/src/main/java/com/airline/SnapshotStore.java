@@ -0,0 +1,346 @@
+package com.airline;
+
+// Import collection classes used for the in-memory indexes
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Import file I/O classes used by the booking journal
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/* =========================================================
+                     SNAPSHOT STORE CLASS
+   Saves the whole inventory to one file so a restart only has
+   to replay the journal written after it, not all of history.
+
+   File layout (every record in a section has the same width):
+     header     64 bytes : magic, version, journal id, replay-from
+                           offset, counts and section sizes
+     flights    48 bytes each : string refs, type, time, seats,
+                           free seats, duration, replay-from offset, fare
+     seat bits   8 bytes each : each flight's window, middle and
+                           aisle bitset words, in flight order
+     passengers 36 bytes each : bookingId, flight index, name ref,
+                           age, packed seat (Passenger.seat: a waitlisted
+                           passenger keeps the seat type asked for),
+                           amount paid, payment method
+     revenue    80 bytes each : flight index, epoch day, then that
+                           flight's RevenueTotals for that day
+     strings    (2-byte length + UTF-8) referenced by offset
+
+   Writing and loading go through a memory-mapped file. Each
+   flight is copied while holding only its own lock, together
+   with the journal offset at that moment, so bookings keep
+   running while a snapshot is taken. Seats on hold are saved
+   as free; after loading, the waitlist gets them first (see
+   BookingService.seatWaitlistedAfterRestore).
+   ========================================================= */
+class SnapshotStore {
+
+    static final int MAGIC = 0x41525331;    // "ARS1"
+    static final int VERSION = 5;
+    static final int HEADER_SIZE = 64;
+    static final int FLIGHT_SIZE = 48;
+    static final int PASSENGER_SIZE = 36;
+    static final int REVENUE_SIZE = 80;
+
+    Path path;              // Where the snapshot lives
+
+    SnapshotStore(Path path) {
+        this.path = path;
+    }
+
+    /* -------- ONE FLIGHT AS COPIED UNDER ITS LOCK -------- */
+    static class FlightImage {
+        Flight flight;
+        int availableSeats;
+        long[][] words;         // Seat bitsets (index 1..3)
+        Passenger[] manifest;   // Passengers booked at that moment
+        short[] seats;          // Their packed seats at that moment (see Passenger.seat)
+        long replayFrom;        // Journal offset at that moment
+        Map<Long, RevenueTotals> revenue;   // Revenue per epoch day at that moment
+    }
+
+    /* ===================== WRITE A SNAPSHOT ===================== */
+    // Captures every flight and writes the snapshot file.
+    // Returns the number of passengers written.
+    long write(BookingService service) throws IOException {
+        BookingJournal journal = service.journal;
+
+        // Every record appended after this point will be replayed on top
+        long replayFrom = journal.appendedEnd();
+
+        // Copy each flight under its own lock (no global pause)
+        List<FlightImage> images = new ArrayList<>();
+        long passengerCount = 0;
+        long wordCount = 0;
+        long revenueCount = 0;
+        for (Flight f : service.flights()) {
+            FlightImage img = new FlightImage();
+            synchronized (f) {
+                img.flight = f;
+                img.words = f.seats.copyWords();
+
+                // Holds are not kept across a restart: save held seats as free
+                for (SeatHold h : f.holds.values()) SeatMap.markFree(img.words, h.seatNo);
+                img.availableSeats = f.availableSeats + f.holds.size();
+                img.manifest = service.repo.passengersOn(f.flightNo).toArray(new Passenger[0]);
+                img.seats = new short[img.manifest.length];
+                for (int k = 0; k < img.manifest.length; k++) img.seats[k] = img.manifest[k].seat;
+                img.replayFrom = journal.appendedEnd();
+
+                // Its revenue so far, so a restart only adds the journal tail
+                img.revenue = service.revenue.flightDays(f.flightNo);
+            }
+            images.add(img);
+            passengerCount += img.manifest.length;
+            revenueCount += img.revenue.size();
+            wordCount += img.words[1].length + img.words[2].length + img.words[3].length;
+        }
+
+        // The journal must hold everything the snapshot skips over before
+        // the snapshot may replace the old one
+        journal.awaitDurable(journal.lastTicket());
+
+        // Size the file: fixed sections plus a worst-case string heap
+        long stringBound = 0;
+        for (FlightImage img : images) {
+            Flight f = img.flight;
+            stringBound += BookingJournal.maxBytes(f.flightNo) + BookingJournal.maxBytes(f.source)
+                    + BookingJournal.maxBytes(f.destination);
+            for (Passenger p : img.manifest) stringBound += BookingJournal.maxBytes(p.name);
+        }
+        long flightsAt = HEADER_SIZE;
+        long wordsAt = flightsAt + (long) images.size() * FLIGHT_SIZE;
+        long passengersAt = wordsAt + wordCount * 8;
+        long revenueAt = passengersAt + passengerCount * PASSENGER_SIZE;
+        long stringsAt = revenueAt + revenueCount * REVENUE_SIZE;
+        long size = stringsAt + stringBound;
+        if (size > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB is not supported");
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            // Strings are written once each; repeated cities share one copy
+            Map<String, Integer> stringRefs = new HashMap<>();
+            int[] heapEnd = { 0 };
+
+            ByteBuffer words = buf.duplicate().position((int) wordsAt);
+            ByteBuffer people = buf.duplicate().position((int) passengersAt);
+            ByteBuffer money = buf.duplicate().position((int) revenueAt);
+            for (int i = 0; i < images.size(); i++) {
+                FlightImage img = images.get(i);
+                Flight f = img.flight;
+
+                // Fixed-width flight record
+                int at = (int) (flightsAt + (long) i * FLIGHT_SIZE);
+                buf.putInt(at, stringRef(buf, stringsAt, f.flightNo, stringRefs, heapEnd));
+                buf.putInt(at + 4, stringRef(buf, stringsAt, f.source, stringRefs, heapEnd));
+                buf.putInt(at + 8, stringRef(buf, stringsAt, f.destination, stringRefs, heapEnd));
+                buf.putInt(at + 12, f.type);
+                buf.putInt(at + 16, f.time);
+                buf.putInt(at + 20, f.totalSeats);
+                buf.putInt(at + 24, img.availableSeats);
+                buf.putInt(at + 28, f.duration);
+                buf.putLong(at + 32, img.replayFrom);
+                buf.putDouble(at + 40, f.fare);
+
+                // Seat bitsets
+                for (int c = 1; c <= 3; c++) {
+                    for (long w : img.words[c]) words.putLong(w);
+                }
+
+                // Fixed-width passenger records
+                for (int k = 0; k < img.manifest.length; k++) {
+                    Passenger p = img.manifest[k];
+                    people.putLong(p.bookingId);
+                    people.putInt(i);
+                    people.putInt(putString(buf, stringsAt, p.name, heapEnd));
+                    people.putInt(p.age);
+                    people.putInt(img.seats[k] & 0xFFFF);
+                    people.putDouble(p.paidAmount);
+                    people.putInt(p.payMethod);
+                }
+
+                // Fixed-width revenue records
+                for (Map.Entry<Long, RevenueTotals> e : img.revenue.entrySet()) {
+                    RevenueTotals t = e.getValue();
+                    money.putInt(i);
+                    money.putInt(e.getKey().intValue());
+                    money.putLong(t.bookings.sum());
+                    money.putLong(t.cancellations.sum());
+                    money.putLong(t.cashCount.sum());
+                    money.putLong(t.upiCount.sum());
+                    money.putDouble(t.gross.sum());
+                    money.putDouble(t.refunds.sum());
+                    money.putDouble(t.seniorDiscount.sum());
+                    money.putDouble(t.cashAmount.sum());
+                    money.putDouble(t.upiAmount.sum());
+                }
+            }
+
+            // Header last, so a half-written file never looks valid
+            buf.putInt(0, MAGIC);
+            buf.putInt(4, VERSION);
+            buf.putLong(8, journal.journalId);
+            buf.putLong(16, replayFrom);
+            buf.putInt(24, images.size());
+            buf.putInt(28, (int) revenueCount);
+            buf.putLong(32, passengerCount);
+            buf.putLong(40, wordCount);
+            buf.putLong(48, heapEnd[0]);
+            buf.putLong(56, System.currentTimeMillis());
+            buf.force();
+        }
+
+        // Swap the new snapshot in atomically
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return passengerCount;
+    }
+
+    // Offset of a string in the heap, writing it the first time it is seen
+    static int stringRef(ByteBuffer buf, long heapAt, String s, Map<String, Integer> refs, int[] heapEnd) {
+        Integer ref = refs.get(s);
+        if (ref == null) {
+            ref = putString(buf, heapAt, s, heapEnd);
+            refs.put(s, ref);
+        }
+        return ref;
+    }
+
+    // Appends a string to the heap and returns its offset
+    static int putString(ByteBuffer buf, long heapAt, String s, int[] heapEnd) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        int ref = heapEnd[0];
+        int at = (int) (heapAt + ref);
+        buf.putShort(at, (short) b.length);
+        buf.put(at + 2, b);
+        heapEnd[0] += 2 + b.length;
+        return ref;
+    }
+
+    /* ===================== LOAD A SNAPSHOT ===================== */
+    // Loads the snapshot into an empty service and returns the journal
+    // offset to replay from. Without a usable snapshot (none yet, or it
+    // was made for a different journal) returns the start of the journal.
+    long load(BookingService service) throws IOException {
+        BookingJournal journal = service.journal;
+        if (!Files.exists(path)) return BookingJournal.HEADER_SIZE;
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_SIZE) return BookingJournal.HEADER_SIZE;
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION || buf.getLong(8) != journal.journalId) {
+                System.out.println("Snapshot does not match the journal, ignoring it.");
+                return BookingJournal.HEADER_SIZE;
+            }
+            long replayFrom = buf.getLong(16);
+            int flightCount = buf.getInt(24);
+            int revenueCount = buf.getInt(28);
+            long passengerCount = buf.getLong(32);
+            long wordCount = buf.getLong(40);
+
+            long flightsAt = HEADER_SIZE;
+            long wordsAt = flightsAt + (long) flightCount * FLIGHT_SIZE;
+            long passengersAt = wordsAt + wordCount * 8;
+            long revenueAt = passengersAt + passengerCount * PASSENGER_SIZE;
+            long stringsAt = revenueAt + (long) revenueCount * REVENUE_SIZE;
+
+            // Size the indexes once instead of letting them grow a million times
+            service.repo.presize(flightCount, passengerCount);
+
+            // Flights and their seat maps
+            Flight[] flights = new Flight[flightCount];
+            Map<Integer, String> cities = new HashMap<>();  // Repeated strings decoded once
+            ByteBuffer words = buf.duplicate().position((int) wordsAt);
+            for (int i = 0; i < flightCount; i++) {
+                int at = (int) (flightsAt + (long) i * FLIGHT_SIZE);
+                int totalSeats = buf.getInt(at + 20);
+                Flight f = new Flight(
+                        cachedString(buf, stringsAt, buf.getInt(at), cities),
+                        cachedString(buf, stringsAt, buf.getInt(at + 4), cities),
+                        cachedString(buf, stringsAt, buf.getInt(at + 8), cities),
+                        buf.getInt(at + 12), buf.getInt(at + 16), buf.getInt(at + 28),
+                        totalSeats, buf.getDouble(at + 40));
+
+                long[][] bits = new long[4][];
+                for (int c = 1; c <= 3; c++) {
+                    bits[c] = new long[SeatMap.wordsFor(totalSeats, c)];
+                    words.asLongBuffer().get(bits[c]);
+                    words.position(words.position() + bits[c].length * 8);
+                }
+                f.seats = new SeatMap(totalSeats, bits);
+                f.availableSeats = buf.getInt(at + 24);
+                f.replayFrom = buf.getLong(at + 32);
+
+                service.restoreFlight(f);
+                flights[i] = f;
+            }
+
+            // Passengers (stored grouped by flight)
+            ByteBuffer people = buf.duplicate().position((int) passengersAt);
+            for (long n = 0; n < passengerCount; n++) {
+                long bookingId = people.getLong();
+                int flightIndex = people.getInt();
+                String name = getString(buf, stringsAt, people.getInt()).intern();
+                int age = people.getInt();
+                int seat = people.getInt();
+                double paid = people.getDouble();
+                int payMethod = people.getInt();
+
+                Flight f = flights[flightIndex];
+                Passenger p = new Passenger(bookingId, name, age, f.id, 0, paid, payMethod);
+                p.seat = (short) seat;
+                service.repo.addPassenger(p);
+                if (p.isWaitlisted()) f.waitlist.add(p);
+            }
+
+            // Revenue totals per flight and day
+            ByteBuffer money = buf.duplicate().position((int) revenueAt);
+            for (int n = 0; n < revenueCount; n++) {
+                Flight f = flights[money.getInt()];
+                long epochDay = money.getInt();
+                RevenueTotals t = new RevenueTotals();
+                t.bookings.add(money.getLong());
+                t.cancellations.add(money.getLong());
+                t.cashCount.add(money.getLong());
+                t.upiCount.add(money.getLong());
+                t.gross.add(money.getDouble());
+                t.refunds.add(money.getDouble());
+                t.seniorDiscount.add(money.getDouble());
+                t.cashAmount.add(money.getDouble());
+                t.upiAmount.add(money.getDouble());
+                service.revenue.restore(f, epochDay, t);
+            }
+            return replayFrom;
+        }
+    }
+
+    static String getString(ByteBuffer buf, long heapAt, int ref) {
+        int at = (int) (heapAt + ref);
+        byte[] b = new byte[buf.getShort(at) & 0xFFFF];
+        buf.get(at + 2, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    static String cachedString(ByteBuffer buf, long heapAt, int ref, Map<Integer, String> cache) {
+        String s = cache.get(ref);
+        if (s == null) {
+            s = getString(buf, heapAt, ref);
+            cache.put(ref, s);
+        }
+        return s;
+    }
+}
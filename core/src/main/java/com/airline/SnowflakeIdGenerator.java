@@ -0,0 +1,70 @@
+package com.airline;
+
+// Import thread-safe collections so many booking agents can share the data
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Import time helper used to build booking IDs
+import java.time.Instant;
+
+/* =========================================================
+                  SNOWFLAKE ID GENERATOR CLASS
+   Builds 63-bit IDs from three parts:
+     | 41 bits: ms since 2024-01-01 | 10 bits: node | 12 bits: sequence |
+   The node id keeps several running copies apart, and the
+   sequence allows 4096 IDs per millisecond per node.
+   Lock-free: threads race on one AtomicLong with compare-and-set.
+   ========================================================= */
+class SnowflakeIdGenerator implements BookingIdGenerator {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQ_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;   // 1023
+    static final long SEQ_MASK = (1L << SEQ_BITS) - 1;  // 4095
+
+    long nodeBits;          // Node id already shifted into place
+    AtomicLong last = new AtomicLong();  // (timestamp << SEQ_BITS) | sequence of the last ID
+    LongSupplier clock;     // Epoch millis (a simulated clock gives repeatable IDs)
+
+    SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        this.clock = clock;
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be 0-" + MAX_NODE + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQ_BITS;
+    }
+
+    /* -------- NEXT ID -------- */
+    public long nextId() {
+        while (true) {
+            long prev = last.get();
+            long now = clock.getAsLong() - EPOCH;
+            long prevTime = prev >>> SEQ_BITS;
+
+            // Same (or earlier, if the clock stepped back) millisecond: bump the sequence.
+            // When the sequence runs out we borrow the next millisecond instead of waiting.
+            long next = now > prevTime ? now << SEQ_BITS : prev + 1;
+
+            if (last.compareAndSet(prev, next)) {
+                long time = next >>> SEQ_BITS;
+                return (time << (NODE_BITS + SEQ_BITS)) | nodeBits | (next & SEQ_MASK);
+            }
+        }
+    }
+
+    /* -------- DECODING HELPERS -------- */
+    // Wall-clock time (epoch ms) at which an ID was made
+    static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQ_BITS)) + EPOCH;
+    }
+
+    // Node that made an ID
+    static int nodeOf(long id) {
+        return (int) (id >>> SEQ_BITS) & MAX_NODE;
+    }
+}
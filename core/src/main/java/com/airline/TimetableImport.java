@@ -0,0 +1,318 @@
+package com.airline;
+
+// Import collection classes used to collect parsed flights
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Import thread-safe collections and the fork-join pool for parallel parsing
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Import file I/O classes used to map the timetable file
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/* =========================================================
+                   TIMETABLE IMPORT CLASS
+   Adds a whole schedule of flights from a CSV file, one per line:
+       flightNo,source,destination,type,time,duration,seats,fare
+   type: 1.Domestic 2.International, time: HHMM, duration in
+   minutes. A header line starting with "flightNo" is skipped.
+
+   The file is memory-mapped and cut into byte ranges that are
+   parsed in parallel on the fork-join pool. A range owns every
+   line that starts inside it (it reads past its end to finish
+   its last line). Each line is validated on the spot; duplicate
+   flight numbers are caught through one concurrent map from
+   flight number to the first place it appears, so the earliest
+   line always wins no matter which thread saw it first.
+   The good flights are then added in one pass, in file order
+   (BookingService.addFlights).
+   ========================================================= */
+class TimetableImport {
+
+    static final int CHUNK = 8 << 20;       // Bytes parsed by one task
+    static final int MAX_LINE = 4096;       // Longer lines are rejected
+    static final int MAX_ERRORS = 20;       // Error messages kept for the summary
+
+    BookingService service;
+
+    long lines;             // Flight lines read (header and blank lines not counted)
+    long added;             // Flights added
+    long rejected;          // Bad lines, duplicates and numbers already taken
+    List<String> errors = new ArrayList<>();
+
+    // Normalized flight number -> file offset of its first line
+    Map<String, Long> firstAt = new ConcurrentHashMap<>();
+
+    TimetableImport(BookingService service) {
+        this.service = service;
+    }
+
+    /* -------- ONE PARSED LINE -------- */
+    static class Row {
+        Flight flight;
+        long offset;        // Where the line starts in the file
+        long line;          // Line number inside its chunk (made global when chunks are joined)
+        Row(Flight flight, long offset, long line) {
+            this.flight = flight;
+            this.offset = offset;
+            this.line = line;
+        }
+    }
+
+    /* -------- WHAT ONE RANGE OF THE FILE HELD -------- */
+    static class Part {
+        List<Row> rows = new ArrayList<>();
+        List<long[]> errorLines = new ArrayList<>();  // { line, index into messages }
+        List<String> messages = new ArrayList<>();
+        long lineCount;     // Every line started in the range (for numbering the next range)
+        long flightLines;   // Lines that were not blank or the header
+        long bad;           // Lines rejected while parsing
+
+        void error(long line, String message) {
+            bad++;
+            if (messages.size() < MAX_ERRORS) {
+                errorLines.add(new long[] { line, messages.size() });
+                messages.add(message);
+            }
+        }
+
+        // Appends the range that follows this one, renumbering its lines
+        Part join(Part next) {
+            for (Row r : next.rows) {
+                r.line += lineCount;
+                rows.add(r);
+            }
+            for (long[] e : next.errorLines) {
+                if (messages.size() >= MAX_ERRORS) break;
+                errorLines.add(new long[] { e[0] + lineCount, messages.size() });
+                messages.add(next.messages.get((int) e[1]));
+            }
+            lineCount += next.lineCount;
+            flightLines += next.flightLines;
+            bad += next.bad;
+            return this;
+        }
+    }
+
+    /* ===================== READ AND ADD THE WHOLE FILE ===================== */
+    void run(Path file) throws IOException {
+        Part all;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            all = ForkJoinPool.commonPool().invoke(new ParseTask(channel, 0, channel.size()));
+        }
+        lines = all.flightLines;
+        rejected = all.bad;
+        for (long[] e : all.errorLines) error("Line " + (e[0] + 1) + ": " + all.messages.get((int) e[1]));
+
+        // Keep only the first line of every flight number
+        List<Flight> flights = new ArrayList<>(all.rows.size());
+        for (Row r : all.rows) {
+            if (firstAt.get(ReservationRepository.key(r.flight.flightNo)) == r.offset) {
+                flights.add(r.flight);
+            } else {
+                rejected++;
+                error("Line " + (r.line + 1) + ": duplicate flight number " + r.flight.flightNo);
+            }
+        }
+
+        added = service.addFlights(flights);
+        if (added < flights.size()) {
+            rejected += flights.size() - added;
+            error((flights.size() - added) + " flight numbers already existed");
+        }
+    }
+
+    void error(String message) {
+        if (errors.size() < MAX_ERRORS) errors.add(message);
+    }
+
+    /* ===================== PARALLEL PARSING ===================== */
+    // Parses the lines that start in [start, end), splitting big ranges in two
+    class ParseTask extends RecursiveTask<Part> {
+        private static final long serialVersionUID = 1L;
+
+        FileChannel channel;
+        long start;
+        long end;
+
+        ParseTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        protected Part compute() {
+            if (end - start > CHUNK) {
+                long mid = start + (end - start) / 2;
+                ParseTask left = new ParseTask(channel, start, mid);
+                left.fork();
+                Part right = new ParseTask(channel, mid, end).compute();
+                return left.join().join(right);
+            }
+            try {
+                return parseRange();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Part parseRange() throws IOException {
+            Part part = new Part();
+            long fileSize = channel.size();
+            if (start >= end) return part;
+
+            // Map one byte before the range (to see where lines start) and enough
+            // after it to finish the last line
+            long from = Math.max(0, start - 1);
+            long to = Math.min(fileSize, end + MAX_LINE);
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            int pos = (int) (start - from);
+            int limit = (int) (end - from);
+            int mapped = (int) (to - from);
+
+            // The line running into the range belongs to the range before
+            if (start > 0 && buf.get(pos - 1) != '\n') {
+                while (pos < mapped && buf.get(pos) != '\n') pos++;
+                pos++;
+            }
+
+            byte[] line = new byte[MAX_LINE];
+            while (pos < limit) {
+                long lineNo = part.lineCount++;
+                long offset = from + pos;
+
+                // Find the end of the line
+                int stop = pos;
+                while (stop < mapped && buf.get(stop) != '\n') stop++;
+                if (stop == mapped && to < fileSize) {
+                    // Runs past the mapped window: find its end in the file and go on after it
+                    part.error(lineNo, "line longer than " + MAX_LINE + " bytes");
+                    long next = nextLineAt(channel, to) - from;
+                    if (next >= limit) break;
+                    pos = (int) next;
+                    continue;
+                }
+                int length = stop - pos;
+                if (length > 0 && buf.get(stop - 1) == '\r') length--;
+                buf.get(pos, line, 0, Math.min(length, MAX_LINE));
+                pos = stop + 1;
+
+                if (length > MAX_LINE) {
+                    part.error(lineNo, "line longer than " + MAX_LINE + " bytes");
+                    continue;
+                }
+                if (isBlank(line, length)) continue;
+                if (offset == 0 && startsWithIgnoreCase(line, length, "flightNo")) continue;
+
+                part.flightLines++;
+                String problem = parseLine(line, length, offset, lineNo, part);
+                if (problem != null) part.error(lineNo, problem);
+            }
+            return part;
+        }
+
+        // Parses and checks one line; returns what is wrong with it, or null
+        String parseLine(byte[] b, int length, long offset, long lineNo, Part part) {
+            int[] cut = new int[9];             // Field i is b[cut[i] .. cut[i+1]-1)
+            int fields = 1;
+            for (int i = 0; i < length; i++) {
+                if (b[i] == ',') {
+                    if (fields == 8) return "expected 8 fields";
+                    cut[fields++] = i + 1;
+                }
+            }
+            if (fields != 8) return "expected 8 fields";
+            cut[8] = length + 1;
+
+            String flightNo = text(b, cut[0], cut[1] - 1);
+            String source = text(b, cut[1], cut[2] - 1);
+            String destination = text(b, cut[2], cut[3] - 1);
+            if (flightNo.isEmpty() || source.isEmpty() || destination.isEmpty()) {
+                return "flight number, source and destination are required";
+            }
+            if (flightNo.length() > Flight.MAX_TEXT || source.length() > Flight.MAX_TEXT
+                    || destination.length() > Flight.MAX_TEXT) {
+                return "flight number, source and destination must be at most " + Flight.MAX_TEXT + " characters";
+            }
+            int type = number(b, cut[3], cut[4] - 1);
+            int time = number(b, cut[4], cut[5] - 1);
+            int duration = number(b, cut[5], cut[6] - 1);
+            int seats = number(b, cut[6], cut[7] - 1);
+            double fare;
+            try {
+                fare = Double.parseDouble(text(b, cut[7], cut[8] - 1));
+            } catch (NumberFormatException e) {
+                fare = -1;
+            }
+
+            if (type != 1 && type != 2) return "type must be 1 (Domestic) or 2 (International)";
+            if (time < 0 || time / 100 > 23 || time % 100 > 59) return "time must be HHMM (0000-2359)";
+            if (duration <= 0) return "duration must be a positive number of minutes";
+            if (seats <= 0 || seats > Flight.MAX_SEATS) return "seats must be 1-" + Flight.MAX_SEATS;
+            if (!(fare > 0) || Double.isInfinite(fare)) return "fare must be a positive number";
+
+            // Remember the earliest line of every flight number
+            firstAt.merge(ReservationRepository.key(flightNo), offset, Math::min);
+            part.rows.add(new Row(new Flight(flightNo, source, destination, type, time, duration, seats, fare),
+                    offset, lineNo));
+            return null;
+        }
+    }
+
+    // File offset just past the next '\n' at or after `at` (the file size if none)
+    static long nextLineAt(FileChannel channel, long at) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(MAX_LINE);
+        while (true) {
+            chunk.clear();
+            int n = channel.read(chunk, at);
+            if (n <= 0) return channel.size();
+            for (int i = 0; i < n; i++) {
+                if (chunk.get(i) == '\n') return at + i + 1;
+            }
+            at += n;
+        }
+    }
+
+    /* -------- BYTE HELPERS -------- */
+    // Field text with surrounding spaces removed
+    static String text(byte[] b, int from, int to) {
+        while (from < to && b[from] == ' ') from++;
+        while (to > from && b[to - 1] == ' ') to--;
+        return new String(b, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    // Whole number in b[from, to), or -1 if it is not one
+    static int number(byte[] b, int from, int to) {
+        while (from < to && b[from] == ' ') from++;
+        while (to > from && b[to - 1] == ' ') to--;
+        if (from == to || to - from > 9) return -1;
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            if (b[i] < '0' || b[i] > '9') return -1;
+            n = n * 10 + (b[i] - '0');
+        }
+        return n;
+    }
+
+    static boolean isBlank(byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (b[i] != ' ' && b[i] != '\t') return false;
+        }
+        return true;
+    }
+
+    static boolean startsWithIgnoreCase(byte[] b, int length, String prefix) {
+        if (length < prefix.length()) return false;
+        return new String(b, 0, prefix.length(), StandardCharsets.ISO_8859_1).equalsIgnoreCase(prefix);
+    }
+}
@@ -0,0 +1,83 @@
+package com.airline;
+
+// Import the sorted set used as the priority queue
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/* =========================================================
+                        WAITLIST CLASS
+   Overbooked passengers of one flight: they have paid, but
+   have no seat yet (Passenger.seatNo() == 0). When a seat is
+   freed it goes to the first passenger in priority order.
+   A sorted set is used instead of a PriorityQueue so that a
+   waitlisted passenger who cancels is also removed in
+   O(log n). Only used while holding the flight's lock.
+   ========================================================= */
+class Waitlist {
+
+    /* -------- PRIORITY ORDERS -------- */
+    // Booking IDs grow with time, so the ID doubles as request time
+    // and also breaks every tie (no two passengers compare equal)
+    static final Comparator<Passenger> BY_REQUEST_TIME =
+            Comparator.comparingLong(p -> p.bookingId);
+
+    // Senior citizens first, then first come, first served
+    static final Comparator<Passenger> SENIORS_FIRST =
+            Comparator.comparingInt((Passenger p) -> p.senior ? 0 : 1).thenComparing(BY_REQUEST_TIME);
+
+    // Highest fare paid first, then first come, first served
+    static final Comparator<Passenger> BY_FARE =
+            Comparator.comparingDouble((Passenger p) -> -p.paidAmount).thenComparing(BY_REQUEST_TIME);
+
+    // Picks an order by name ("senior", "time" or "fare")
+    static Comparator<Passenger> order(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "time": return BY_REQUEST_TIME;
+            case "fare": return BY_FARE;
+            case "senior": return SENIORS_FIRST;
+            default: throw new IllegalArgumentException("Unknown waitlist order: " + name);
+        }
+    }
+
+    Comparator<Passenger> order;
+    TreeSet<Passenger> queue;   // Created when the first passenger joins (most flights never need one)
+
+    Waitlist(Comparator<Passenger> order) {
+        this.order = order;
+    }
+
+    void add(Passenger p) {
+        if (queue == null) queue = new TreeSet<>(order);
+        queue.add(p);
+    }
+
+    // Removes a passenger who cancelled; false if they were not waiting
+    boolean remove(Passenger p) {
+        return queue != null && queue.remove(p);
+    }
+
+    // Takes the passenger who gets the next free seat (null if none)
+    Passenger poll() {
+        return queue == null ? null : queue.pollFirst();
+    }
+
+    // The passenger who gets the next free seat, left in place (null if none)
+    Passenger peek() {
+        return queue == null || queue.isEmpty() ? null : queue.first();
+    }
+
+    // 1 = next to be seated (0 if not on the waitlist)
+    int position(Passenger p) {
+        return queue != null && queue.contains(p) ? queue.headSet(p).size() + 1 : 0;
+    }
+
+    int size() {
+        TreeSet<Passenger> q = queue;
+        return q == null ? 0 : q.size();
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.airline;
+
+// Import collection classes used to check the keys given
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Import file and time classes for loading a workload file
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/* =========================================================
+                        WORKLOAD CLASS
+   Everything that decides what a Simulation does. Read from
+   a .properties file and/or key=value arguments; every key
+   has a default, and unknown keys are rejected so a typo
+   cannot silently fall back to one. The same workload with
+   the same seed always produces the same run.
+   ========================================================= */
+class Workload {
+
+    long seed = 1;
+    int flights = 2000;             // Flights in the generated timetable
+    int cities = 12;                // Cities they fly between (at most CITIES.length)
+    int seats = 180;                // Seats per flight
+    long arrivals = 500_000;        // Customers arriving (each does one operation)
+    double rate = 50;               // Arrivals per simulated second
+    double pace = 0;                // 0 = as fast as possible; N = N simulated seconds per real second
+    LocalDateTime start = LocalDateTime.of(2026, 1, 5, 6, 0);  // Simulated start time
+    ZoneId zone = ZoneId.of("Asia/Kolkata");
+
+    // Operation mix (relative weights)
+    double book = 55;               // Book straight away
+    double hold = 10;               // Hold a seat, pay later (or never)
+    double cancel = 10;             // Cancel one of the live bookings
+    double search = 15;             // Route search
+    double view = 8;                // Look up a booking and its waitlist position
+    double admin = 2;               // Manifest, metrics, analytics and listings
+
+    // Seat preference mix (relative weights)
+    double prefAny = 20;
+    double prefWindow = 40;
+    double prefMiddle = 10;
+    double prefAisle = 30;
+
+    double seniorRatio = 0.15;      // Share of passengers aged 60+
+    double upiRatio = 0.6;          // Share paying by UPI
+    double hotSkew = 1.0;           // Zipf exponent over flights (0 = every flight equally popular)
+    double holdAbandon = 0.2;       // Share of holds never paid for (they expire)
+    double payDelay = 90;           // Mean seconds from hold to payment
+    int holdMinutes = 10;
+    int overbookPercent = 10;
+    String waitlistOrder = "senior";
+    String journal = "";            // Journal file to write and replay-check (empty = in memory only)
+
+    /* -------- READING -------- */
+    // Reads a workload file (null = defaults only), then applies key=value overrides
+    static Workload load(Path file, List<String> overrides) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (file != null) {
+            Properties p = new Properties();
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                p.load(in);
+            }
+            for (String key : p.stringPropertyNames()) values.put(key, p.getProperty(key).trim());
+        }
+        for (String o : overrides) {
+            int eq = o.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value: " + o);
+            values.put(o.substring(0, eq).trim(), o.substring(eq + 1).trim());
+        }
+
+        Workload w = new Workload();
+        for (Map.Entry<String, String> e : values.entrySet()) w.set(e.getKey(), e.getValue());
+        w.check();
+        return w;
+    }
+
+    void set(String key, String v) {
+        switch (key) {
+            case "seed": seed = Long.parseLong(v); break;
+            case "flights": flights = Integer.parseInt(v); break;
+            case "cities": cities = Integer.parseInt(v); break;
+            case "seats": seats = Integer.parseInt(v); break;
+            case "arrivals": arrivals = Long.parseLong(v); break;
+            case "rate": rate = Double.parseDouble(v); break;
+            case "pace": pace = Double.parseDouble(v); break;
+            case "start": start = LocalDateTime.parse(v); break;
+            case "zone": zone = ZoneId.of(v); break;
+            case "mix.book": book = Double.parseDouble(v); break;
+            case "mix.hold": hold = Double.parseDouble(v); break;
+            case "mix.cancel": cancel = Double.parseDouble(v); break;
+            case "mix.search": search = Double.parseDouble(v); break;
+            case "mix.view": view = Double.parseDouble(v); break;
+            case "mix.admin": admin = Double.parseDouble(v); break;
+            case "pref.any": prefAny = Double.parseDouble(v); break;
+            case "pref.window": prefWindow = Double.parseDouble(v); break;
+            case "pref.middle": prefMiddle = Double.parseDouble(v); break;
+            case "pref.aisle": prefAisle = Double.parseDouble(v); break;
+            case "seniorRatio": seniorRatio = Double.parseDouble(v); break;
+            case "upiRatio": upiRatio = Double.parseDouble(v); break;
+            case "hotSkew": hotSkew = Double.parseDouble(v); break;
+            case "holdAbandon": holdAbandon = Double.parseDouble(v); break;
+            case "payDelay": payDelay = Double.parseDouble(v); break;
+            case "holdMinutes": holdMinutes = Integer.parseInt(v); break;
+            case "overbookPercent": overbookPercent = Integer.parseInt(v); break;
+            case "waitlistOrder": waitlistOrder = v; break;
+            case "journal": journal = v; break;
+            default: throw new IllegalArgumentException("Unknown workload key: " + key);
+        }
+    }
+
+    void check() {
+        List<String> problems = new ArrayList<>();
+        if (flights < 1) problems.add("flights must be at least 1");
+        if (cities < 2 || cities > Simulation.CITIES.length) {
+            problems.add("cities must be 2-" + Simulation.CITIES.length);
+        }
+        if (seats < 1 || seats > Flight.MAX_SEATS) problems.add("seats must be 1-" + Flight.MAX_SEATS);
+        if (arrivals < 0) problems.add("arrivals must not be negative");
+        if (!(rate > 0)) problems.add("rate must be positive");
+        if (pace < 0) problems.add("pace must not be negative");
+        double[] weights = { book, hold, cancel, search, view, admin, prefAny, prefWindow, prefMiddle, prefAisle };
+        for (double x : weights) if (x < 0) problems.add("mix and pref weights must not be negative");
+        if (book + hold + cancel + search + view + admin <= 0) problems.add("the operation mix is empty");
+        if (prefAny + prefWindow + prefMiddle + prefAisle <= 0) problems.add("the preference mix is empty");
+        if (seniorRatio < 0 || seniorRatio > 1 || upiRatio < 0 || upiRatio > 1 || holdAbandon < 0 || holdAbandon > 1) {
+            problems.add("seniorRatio, upiRatio and holdAbandon must be 0-1");
+        }
+        if (hotSkew < 0 || payDelay < 0 || holdMinutes < 1 || overbookPercent < 0) {
+            problems.add("hotSkew, payDelay and overbookPercent must not be negative, holdMinutes at least 1");
+        }
+        Waitlist.order(waitlistOrder);     // Throws on an unknown order
+        if (!problems.isEmpty()) throw new IllegalArgumentException(String.join("; ", problems));
+    }
+
+    /* -------- DESCRIPTION (printed with every run) -------- */
+    String describe() {
+        return "seed=" + seed + " flights=" + flights + " cities=" + cities + " seats=" + seats
+                + " arrivals=" + arrivals + " rate=" + rate + " pace=" + pace + "\n"
+                + "start=" + start + " zone=" + zone + " holdMinutes=" + holdMinutes
+                + " overbookPercent=" + overbookPercent + " waitlistOrder=" + waitlistOrder + "\n"
+                + "mix book/hold/cancel/search/view/admin=" + book + "/" + hold + "/" + cancel + "/"
+                + search + "/" + view + "/" + admin + "\n"
+                + "pref any/window/middle/aisle=" + prefAny + "/" + prefWindow + "/" + prefMiddle + "/" + prefAisle
+                + " seniorRatio=" + seniorRatio + " upiRatio=" + upiRatio + " hotSkew=" + hotSkew
+                + " holdAbandon=" + holdAbandon + " payDelay=" + payDelay
+                + (journal.isEmpty() ? "" : " journal=" + journal);
+    }
+}
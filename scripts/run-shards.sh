@@ -0,0 +1,28 @@
+#!/bin/sh
+# Runs the HTTP API as several shard processes plus a router, all on loopback.
+#   scripts/run-shards.sh [shards] [router port]     (defaults: 3 shards, port 8080)
+# Shard i listens on port+1+i with node id i and keeps its journal, snapshot
+# and log in $DATA (default ./shard-data). Ctrl+C stops everything.
+# Build first with: mvn -B package
+set -e
+N=${1:-3}
+PORT=${2:-8080}
+DATA=${DATA:-shard-data}
+JAR=${JAR:-core/target/airline-reservation-1.0-SNAPSHOT.jar}
+
+mkdir -p "$DATA"
+URLS=""
+PIDS=""
+i=0
+while [ "$i" -lt "$N" ]; do
+    SHARD_PORT=$((PORT + 1 + i))
+    java $JAVA_OPTS -Dairline.nodeId=$i -Dairline.shards=$N \
+         -Dairline.journal="$DATA/shard$i.journal" -Dairline.snapshot="$DATA/shard$i.snapshot" \
+         -jar "$JAR" --server $SHARD_PORT > "$DATA/shard$i.log" 2>&1 &
+    PIDS="$PIDS $!"
+    URLS="$URLS${URLS:+,}http://127.0.0.1:$SHARD_PORT"
+    i=$((i + 1))
+done
+trap 'kill $PIDS 2>/dev/null' EXIT INT TERM
+
+java $JAVA_OPTS -jar "$JAR" --router $PORT "$URLS"